@@ -0,0 +1,147 @@
+package com.ironhack.lms.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ironhack.lms.service.course.CourseChangedEvent;
+import com.ironhack.lms.service.course.CourseContentChangedEvent;
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.language.OperationDefinition;
+import graphql.normalized.ExecutableNormalizedField;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Whole-response cache for anonymous catalog queries. A hit is answered from the interceptor
+ * without executing the document (no data fetchers, no SQL); signed-in callers always bypass it.
+ * <p>
+ * Only queries that stay within the course catalog types are stored (checked on the normalized
+ * operation, so fragments and aliases can't sneak other data in). Any course, lesson or
+ * assignment write drops every entry, like the REST catalog cache.
+ */
+@Component
+public class AnonymousQueryCache extends SimplePerformantInstrumentation implements WebGraphQlInterceptor {
+
+    static final String CACHEABLE = "lms.anonymousCacheable";
+
+    // object types whose fields may appear in a cached response; all are covered by the events below
+    private static final Set<String> CATALOG_TYPES = Set.of(
+            "Query", "CoursePage", "PageInfo", "Course", "Instructor", "Lesson", "Assignment",
+            "CourseConnection", "CourseEdge", "ConnectionPageInfo");
+    private static final Set<String> CATALOG_ROOTS = Set.of("courses", "course", "coursesConnection");
+
+    private final boolean enabled;
+    private final Cache<Key, ExecutionResult> results;
+    // bumped on every invalidation, so a load that raced with a write isn't stored afterwards
+    private final AtomicLong generation = new AtomicLong();
+
+    public AnonymousQueryCache(MeterRegistry meterRegistry,
+                               @Value("${app.graphql.response-cache.enabled:true}") boolean enabled,
+                               @Value("${app.graphql.response-cache.max-size:1000}") long maxSize,
+                               @Value("${app.graphql.response-cache.ttl:PT5M}") Duration ttl) {
+        this.enabled = enabled;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "graphql.responses");
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        Key key = enabled ? keyOf(request) : null;
+        if (key == null || GraphqlClientKeyInterceptor.currentUser() != null
+                || request.getHeaders().containsKey(GraphqlTimingInterceptor.HEADER)) {
+            return chain.next(request);
+        }
+        ExecutionResult cached = results.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(request.toExecutionInput(), cached)));
+        }
+        long loadedAt = generation.get();
+        return chain.next(request).doOnNext(response -> {
+            boolean cacheable = Boolean.TRUE.equals(response.getExecutionInput().getGraphQLContext().get(CACHEABLE));
+            if (cacheable && response.isValid() && response.getErrors().isEmpty() && generation.get() == loadedAt) {
+                results.put(key, response.getExecutionResult());
+            }
+        });
+    }
+
+    // Marks the operation cacheable once graphql-java has resolved it (operation type, fragments)
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        ExecutionContext ctx = parameters.getExecutionContext();
+        if (enabled && ctx.getOperationDefinition().getOperation() == OperationDefinition.Operation.QUERY
+                && catalogOnly(ctx)) {
+            ctx.getGraphQLContext().put(CACHEABLE, true);
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseContentChanged(CourseContentChangedEvent event) {
+        invalidateAll();
+    }
+
+    void invalidateAll() {
+        generation.incrementAndGet();
+        results.invalidateAll();
+    }
+
+    private static boolean catalogOnly(ExecutionContext ctx) {
+        Deque<ExecutableNormalizedField> fields = new ArrayDeque<>(ctx.getNormalizedQueryTree().get().getTopLevelFields());
+        if (fields.isEmpty() || !fields.stream().allMatch(f -> CATALOG_ROOTS.contains(f.getName()))) return false;
+        while (!fields.isEmpty()) {
+            ExecutableNormalizedField f = fields.pop();
+            if (!f.getName().startsWith("__") && !CATALOG_TYPES.containsAll(f.getObjectTypeNames())) return false;
+            fields.addAll(f.getChildren());
+        }
+        return true;
+    }
+
+    private static Key keyOf(WebGraphQlRequest request) {
+        String document = request.getDocument();
+        String hash;
+        // hash-only APQ requests carry Spring's placeholder document; key them on the hash they name
+        if (StringUtils.hasText(document) && !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(document)) {
+            hash = PersistedDocumentProvider.sha256Hex(document);
+        } else if (request.getExtensions().get("persistedQuery") instanceof Map<?, ?> pq
+                && pq.get("sha256Hash") instanceof String h) {
+            hash = h.toLowerCase(); // same sha256 of the document text
+        } else {
+            return null;
+        }
+        return new Key(hash, request.getOperationName(), new HashMap<>(request.getVariables()));
+    }
+
+    private record Key(String documentHash, String operationName, Map<String, Object> variables) {}
+}
@@ -0,0 +1,70 @@
+package com.ironhack.lms.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client query-cost budget over a sliding window (two-bucket approximation: the previous
+ * window's spend is weighted by how much of it still overlaps the sliding window).
+ */
+final class CostBudget {
+
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final Cache<String, Window> windows;
+
+    CostBudget(Duration window, long maxClients, LongSupplier clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    /** Debits {@code cost} if it fits under {@code budget}; otherwise leaves the window untouched. */
+    boolean tryConsume(String client, long cost, long budget) {
+        return windows.get(client, k -> new Window()).tryConsume(cost, budget, clock.getAsLong());
+    }
+
+    /** Seconds until the current fixed window rolls over; a safe Retry-After hint. */
+    long secondsUntilReset(String client) {
+        Window w = windows.getIfPresent(client);
+        if (w == null) return 0;
+        synchronized (w) {
+            long left = w.start + windowMillis - clock.getAsLong();
+            return Math.max(1, (left + 999) / 1000);
+        }
+    }
+
+    private final class Window {
+        long start = -1;
+        long current;
+        long previous;
+
+        synchronized boolean tryConsume(long cost, long budget, long now) {
+            roll(now);
+            double overlap = 1.0 - (double) (now - start) / windowMillis;
+            double spent = previous * overlap + current;
+            if (spent + cost > budget) return false;
+            current += cost;
+            return true;
+        }
+
+        private void roll(long now) {
+            if (start < 0) {
+                start = now;
+                return;
+            }
+            long elapsed = now - start;
+            if (elapsed < windowMillis) return;
+            long windowsPassed = elapsed / windowMillis;
+            previous = windowsPassed == 1 ? current : 0;
+            current = 0;
+            start += windowsPassed * windowMillis;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.ironhack.lms.config;
+
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-field resolver latency and SQL statement counts, per operation.
+ * <p>
+ * Fields are tagged by coordinate ({@code Course.lessons}) rather than result path so list
+ * indexes don't explode tag cardinality. Trivial property fetchers are skipped. A field's SQL
+ * count covers what its fetcher ran synchronously; statements issued by DataLoader batch loads
+ * are only part of the operation total, while their wait shows up in the field's latency.
+ * <p>
+ * The operation name is chosen by the client, so only known names become tag values: the persisted
+ * operations plus {@code app.graphql.timing.operations}. Every other name is recorded as
+ * {@value #OTHER}, keeping the series count bounded.
+ */
+@Component
+public class FieldTimingInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String DEBUG_KEY = "lms.debugTiming";
+    static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sql;
+    private final Set<String> knownOperations;
+
+    @Autowired
+    public FieldTimingInstrumentation(MeterRegistry meterRegistry, SqlStatementCounter sql,
+                                      PersistedDocumentProvider persisted,
+                                      @Value("${app.graphql.timing.operations:}") Set<String> operations) {
+        this(meterRegistry, sql, union(persisted.operationNames(), operations));
+    }
+
+    FieldTimingInstrumentation(MeterRegistry meterRegistry, SqlStatementCounter sql, Set<String> knownOperations) {
+        this.meterRegistry = meterRegistry;
+        this.sql = sql;
+        this.knownOperations = Set.copyOf(knownOperations);
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new State(Boolean.TRUE.equals(parameters.getExecutionInput().getGraphQLContext().get(DEBUG_KEY)));
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        if (state instanceof State s) {
+            String name = parameters.getOperation();
+            s.operation = name == null ? "anonymous" : name;
+            s.operationTag = name == null ? "anonymous" : knownOperations.contains(name) ? name : OTHER;
+            s.thread = Thread.currentThread();
+            s.sqlAtStart = sql.current();
+            s.startNanos = System.nanoTime();
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters,
+                                                                  InstrumentationState state) {
+        if (!(state instanceof State s) || parameters.isTrivialDataFetcher()) {
+            return null;
+        }
+        String field = coordinate(parameters.getExecutionStepInfo());
+        Thread thread = Thread.currentThread();
+        long sqlBefore = sql.current();
+        long start = System.nanoTime();
+        FieldStats stats = s.fields.computeIfAbsent(field, k -> new FieldStats());
+
+        return new FieldFetchingInstrumentationContext() {
+            @Override
+            public void onDispatched() {
+                if (Thread.currentThread() == thread) stats.sql.add(sql.current() - sqlBefore);
+            }
+
+            @Override
+            public void onCompleted(Object result, Throwable t) {
+                stats.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        if (!(state instanceof State s) || s.operation == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        long nanos = System.nanoTime() - s.startNanos;
+        Long statements = Thread.currentThread() == s.thread ? sql.current() - s.sqlAtStart : null;
+
+        Timer.builder("lms.graphql.operation")
+                .description("GraphQL operation execution time")
+                .tag("operation", s.operationTag)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (statements != null) {
+            sqlSummary("lms.graphql.operation.sql", s.operationTag, null).record(statements);
+        }
+        s.fields.forEach((field, stats) -> {
+            Timer timer = Timer.builder("lms.graphql.field")
+                    .description("GraphQL field resolver latency")
+                    .tag("operation", s.operationTag)
+                    .tag("field", field)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            stats.durations.forEach(d -> timer.record(d, TimeUnit.NANOSECONDS));
+            sqlSummary("lms.graphql.field.sql", s.operationTag, field).record(stats.sql.sum());
+        });
+
+        if (!s.debug) return CompletableFuture.completedFuture(executionResult);
+        return CompletableFuture.completedFuture(executionResult.transform(b -> b.addExtension("timing", toExtension(s, nanos, statements))));
+    }
+
+    private DistributionSummary sqlSummary(String name, String operation, String field) {
+        DistributionSummary.Builder builder = DistributionSummary.builder(name)
+                .description("SQL statements executed")
+                .baseUnit("statements")
+                .tag("operation", operation);
+        if (field != null) builder.tag("field", field);
+        return builder.register(meterRegistry);
+    }
+
+    private static Map<String, Object> toExtension(State s, long nanos, Long statements) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        s.fields.forEach((field, stats) -> fields.put(field, Map.of(
+                "count", stats.durations.size(),
+                "totalMs", millis(stats.durations.stream().mapToLong(Long::longValue).sum()),
+                "maxMs", millis(stats.max.get()),
+                "sqlStatements", stats.sql.sum())));
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("operation", s.operation);
+        timing.put("durationMs", millis(nanos));
+        if (statements != null) timing.put("sqlStatements", statements);
+        timing.put("fields", fields);
+        return timing;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> all = new HashSet<>(a);
+        all.addAll(b);
+        return all;
+    }
+
+    private static String coordinate(ExecutionStepInfo info) {
+        return info.getObjectType().getName() + "." + info.getFieldDefinition().getName();
+    }
+
+    private static final class State implements InstrumentationState {
+        final boolean debug;
+        final Map<String, FieldStats> fields = new ConcurrentHashMap<>();
+        volatile String operation;
+        volatile String operationTag;
+        volatile Thread thread;
+        volatile long sqlAtStart;
+        volatile long startNanos;
+
+        State(boolean debug) {
+            this.debug = debug;
+        }
+    }
+
+    private static final class FieldStats {
+        final Queue<Long> durations = new ConcurrentLinkedQueue<>();
+        final AtomicLong max = new AtomicLong();
+        final LongAdder sql = new LongAdder();
+
+        void record(long nanos) {
+            durations.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ironhack.lms.config;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+/**
+ * Puts a stable client key into the GraphQL context: the user's email when authenticated,
+ * otherwise the remote address. Instrumentations key per-client state (cost budgets) on it.
+ */
+@Component
+public class GraphqlClientKeyInterceptor implements WebGraphQlInterceptor {
+
+    public static final String CLIENT_KEY = "lms.clientKey";
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        String key = clientKey(request);
+        request.configureExecutionInput((input, builder) -> builder.graphQLContext(Map.of(CLIENT_KEY, key)).build());
+        return chain.next(request);
+    }
+
+    /** The signed-in user for the current request, or null for anonymous callers. */
+    static Authentication currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean signedIn = auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken);
+        return signedIn ? auth : null;
+    }
+
+    private static String clientKey(WebGraphQlRequest request) {
+        Authentication auth = currentUser();
+        if (auth != null) {
+            return "user:" + auth.getName();
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote == null ? "anonymous" : "ip:" + remote.getHostString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ironhack.lms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Asks {@link FieldTimingInstrumentation} to return its timings in the response extensions when
+ * the request carries {@value #HEADER}; ignored unless {@code app.graphql.timing.expose-in-response}.
+ */
+@Component
+public class GraphqlTimingInterceptor implements WebGraphQlInterceptor {
+
+    public static final String HEADER = "X-Debug-Timing";
+
+    private final boolean exposeInResponse;
+
+    public GraphqlTimingInterceptor(@Value("${app.graphql.timing.expose-in-response:false}") boolean exposeInResponse) {
+        this.exposeInResponse = exposeInResponse;
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (exposeInResponse && request.getHeaders().containsKey(HEADER)) {
+            request.configureExecutionInput((input, builder) ->
+                    builder.graphQLContext(Map.of(FieldTimingInstrumentation.DEBUG_KEY, true)).build());
+        }
+        return chain.next(request);
+    }
+}
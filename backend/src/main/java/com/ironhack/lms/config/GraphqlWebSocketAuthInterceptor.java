@@ -0,0 +1,140 @@
+package com.ironhack.lms.config;
+
+import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.TokenRevocationList;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.execution.SubscriptionPublisherException;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticates GraphQL WebSocket sessions. Browsers can't set headers on the upgrade request,
+ * so the JWT comes in the connection_init payload ({@code Authorization: "Bearer ..."} or
+ * {@code authToken}); it is checked like {@link JwtAuthFilter} does and exposed to resolvers as
+ * the {@value #AUTHENTICATION} context value. A connection without a token stays anonymous.
+ * <p>
+ * The session outlives the token, so its expiry and id are kept with the session: each operation
+ * is authenticated only while the token is live and not logged out, and a running subscription
+ * ends with an UNAUTHORIZED error at that point. The client reconnects with a fresh token.
+ */
+@Component
+public class GraphqlWebSocketAuthInterceptor implements WebSocketGraphQlInterceptor {
+
+    public static final String AUTHENTICATION = "lms.wsAuthentication";
+    static final String TOKEN = "lms.wsToken";
+
+    private final JwtAuthFilter jwtAuth;
+    private final JwtService jwt;
+    private final TokenRevocationList revocations;
+    private final Clock clock;
+
+    @Autowired
+    public GraphqlWebSocketAuthInterceptor(JwtAuthFilter jwtAuth, JwtService jwt, TokenRevocationList revocations) {
+        this(jwtAuth, jwt, revocations, Clock.systemUTC());
+    }
+
+    GraphqlWebSocketAuthInterceptor(JwtAuthFilter jwtAuth, JwtService jwt, TokenRevocationList revocations, Clock clock) {
+        this.jwtAuth = jwtAuth;
+        this.jwt = jwt;
+        this.revocations = revocations;
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Object> handleConnectionInitialization(WebSocketSessionInfo sessionInfo, Map<String, Object> payload) {
+        String token = token(payload);
+        if (token == null) return Mono.empty();
+        UserDetails user;
+        SessionToken session;
+        try {
+            user = jwtAuth.authenticate(token);
+            session = new SessionToken(jwt.extractTokenId(token).orElse(null), jwt.extractExpiration(token));
+        } catch (Exception e) {
+            user = null;
+            session = null;
+        }
+        if (user == null) return Mono.error(new IllegalStateException("Invalid or expired token"));
+        sessionInfo.getAttributes().put(AUTHENTICATION,
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        sessionInfo.getAttributes().put(TOKEN, session);
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (!(request instanceof WebSocketGraphQlRequest ws)) return chain.next(request);
+        Map<String, Object> attributes = ws.getSessionInfo().getAttributes();
+        if (!(attributes.get(AUTHENTICATION) instanceof Authentication auth)
+                || !(attributes.get(TOKEN) instanceof SessionToken token)) {
+            return chain.next(request);
+        }
+        // expired or logged out since connection_init: the rest of the session is anonymous
+        if (!isLive(token)) {
+            attributes.remove(AUTHENTICATION);
+            attributes.remove(TOKEN);
+            return chain.next(request);
+        }
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(Map.of(AUTHENTICATION, auth)).build());
+        return chain.next(request).map(response -> endWithToken(response, token));
+    }
+
+    // subscriptions: stop delivering once the token expires, or at the next event after a logout
+    private WebGraphQlResponse endWithToken(WebGraphQlResponse response, SessionToken token) {
+        if (!(response.getExecutionResult().getData() instanceof Publisher<?> events)) return response;
+        @SuppressWarnings("unchecked")
+        Flux<Object> stream = Flux.from((Publisher<Object>) events);
+        Duration remaining = Duration.between(clock.instant(), token.expiresAt());
+        Flux<Object> bounded = stream
+                .takeUntilOther(Mono.delay(remaining.isNegative() ? Duration.ZERO : remaining))
+                .<Object>handle((event, sink) -> {
+                    if (isLive(token)) sink.next(event);
+                    else sink.error(tokenEnded());
+                })
+                .concatWith(Mono.defer(() -> isLive(token) ? Mono.empty() : Mono.error(tokenEnded())));
+        return response.transform(builder -> builder.data(bounded));
+    }
+
+    private boolean isLive(SessionToken token) {
+        return token.expiresAt().isAfter(clock.instant())
+                && (token.id() == null || !revocations.isRevoked(token.id()));
+    }
+
+    private static SubscriptionPublisherException tokenEnded() {
+        GraphQLError error = GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.UNAUTHORIZED)
+                .message("Token expired or revoked")
+                .build();
+        return new SubscriptionPublisherException(List.of(error), null);
+    }
+
+    private static String token(Map<String, Object> payload) {
+        if (payload == null) return null;
+        if (payload.get("Authorization") instanceof String header && header.startsWith("Bearer ")) {
+            return header.substring(7);
+        }
+        return payload.get("authToken") instanceof String t && !t.isBlank() ? t : null;
+    }
+
+    /** Expiry and id of the token the session was initialised with. */
+    record SessionToken(String id, Instant expiresAt) {}
+}
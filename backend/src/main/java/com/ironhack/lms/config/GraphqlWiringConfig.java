@@ -2,6 +2,7 @@ package com.ironhack.lms.config;
 
 import graphql.scalars.ExtendedScalars;
 import graphql.schema.GraphQLScalarType;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
@@ -20,6 +21,12 @@ public class GraphqlWiringConfig {
                 .scalar(createDateTimeScalar())
                 .scalar(ExtendedScalars.GraphQLLong);
     }
+
+    // parsed/validated document cache + APQ (see PersistedDocumentProvider)
+    @Bean
+    GraphQlSourceBuilderCustomizer persistedDocuments(PersistedDocumentProvider documents) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documents));
+    }
     
     private GraphQLScalarType createDateTimeScalar() {
         return GraphQLScalarType.newScalar()
@@ -2,11 +2,14 @@ package com.ironhack.lms.config;
 
 import com.ironhack.lms.service.auth.AppUserDetailsService;
 import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.LmsPrincipal;
+import com.ironhack.lms.service.auth.TokenRevocationList;
+import com.ironhack.lms.service.auth.UserDirectory;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,13 +19,31 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwt;
     private final AppUserDetailsService uds;
+    private final UserDirectory directory;
+    private final TokenRevocationList revocations;
+    private final boolean statelessPrincipal;
+
+    public JwtAuthFilter(JwtService jwt, AppUserDetailsService uds, UserDirectory directory,
+                         TokenRevocationList revocations,
+                         @Value("${app.jwt.stateless-principal:true}") boolean statelessPrincipal) {
+        this.jwt = jwt;
+        this.uds = uds;
+        this.directory = directory;
+        this.revocations = revocations;
+        this.statelessPrincipal = statelessPrincipal;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicRoutes.ALL.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
@@ -32,17 +53,33 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (auth != null && auth.startsWith("Bearer ")) {
             String token = auth.substring(7);
             try {
-                String username = jwt.extractUsername(token);
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails user = uds.loadUserByUsername(username);
-                    if (jwt.isValid(token, user)) {
-                        var authToken = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                UserDetails user = authenticate(token);
+                if (user != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    var authToken = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             } catch (Exception ignored) {}
         }
         chain.doFilter(req, res);
     }
+
+    // also used for the GraphQL WebSocket handshake
+    UserDetails authenticate(String token) {
+        // logged-out tokens: in-memory lookup, no query
+        if (jwt.extractTokenId(token).filter(revocations::isRevoked).isPresent()) return null;
+
+        // stateless mode: the verified claims are the principal; the cached directory
+        // only confirms the token version (role/password changes revoke older tokens)
+        if (statelessPrincipal) {
+            Optional<LmsPrincipal> principal = jwt.extractPrincipal(token);
+            if (principal.isPresent()) return directory.isCurrent(principal.get()) ? principal.get() : null;
+        }
+
+        // legacy subject-only tokens (or stateless mode disabled)
+        String username = jwt.extractUsername(token);
+        if (username == null || SecurityContextHolder.getContext().getAuthentication() != null) return null;
+        UserDetails user = uds.loadUserByUsername(username);
+        return jwt.isValid(token, user) ? user : null;
+    }
 }
@@ -0,0 +1,173 @@
+package com.ironhack.lms.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ErrorClassification;
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Parsed-and-validated document cache plus Automatic Persisted Queries (Apollo protocol:
+ * {@code extensions.persistedQuery.sha256Hash}).
+ * <ul>
+ *   <li>Every successfully validated document is cached by the SHA-256 of its text, so a repeated
+ *       operation skips parse + validate whether or not the client uses APQ.</li>
+ *   <li>Hash only, unknown: {@code PersistedQueryNotFound}; the client retries with the text.</li>
+ *   <li>Allow-list mode: only documents shipped under {@code graphql/persisted/*.graphql} run;
+ *       anything else is refused before it is parsed.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PersistedDocumentProvider implements PreparsedDocumentProvider {
+
+    static final String PERSISTED_LOCATION = "classpath*:graphql/persisted/*.graphql";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final boolean allowListOnly;
+
+    // hash -> text of the operations shipped with the app
+    private final Map<String, String> allowList = new HashMap<>();
+    private final Set<String> operationNames = new HashSet<>();
+
+    public PersistedDocumentProvider(MeterRegistry meterRegistry,
+                                     @Value("${app.graphql.document-cache.max-size:1000}") long maxSize,
+                                     @Value("${app.graphql.persisted-queries.allow-list-only:false}") boolean allowListOnly) {
+        this.allowListOnly = allowListOnly;
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.documents");
+    }
+
+    @PostConstruct
+    void loadAllowList() throws IOException {
+        for (Resource r : new PathMatchingResourcePatternResolver().getResources(PERSISTED_LOCATION)) {
+            String query = r.getContentAsString(StandardCharsets.UTF_8);
+            allowList.put(sha256Hex(query), query);
+            Parser.parse(query).getDefinitionsOfType(OperationDefinition.class).stream()
+                    .map(OperationDefinition::getName)
+                    .filter(Objects::nonNull)
+                    .forEach(operationNames::add);
+        }
+        if (allowListOnly) log.info("GraphQL allow-list mode: {} persisted operations", allowList.size());
+    }
+
+    /** Names of the operations shipped under {@code graphql/persisted}. */
+    Set<String> operationNames() {
+        return Set.copyOf(operationNames);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput input,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        return CompletableFuture.completedFuture(resolve(input, parseAndValidate));
+    }
+
+    private PreparsedDocumentEntry resolve(ExecutionInput input,
+                                           Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        String hash = persistedQueryHash(input);
+        String query = input.getQuery();
+        // hash-only requests arrive with Spring's placeholder document instead of no query
+        boolean hasText = query != null && !query.isBlank() && !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+
+        if (allowListOnly) {
+            String key = hash != null ? hash : (hasText ? sha256Hex(query) : null);
+            String pinned = key == null ? null : allowList.get(key);
+            if (pinned == null) return notAllowed(key);
+            return documents.get(key, k -> parseAndValidate.apply(input.transform(b -> b.query(pinned))));
+        }
+
+        if (hash != null && !hasText) {
+            PreparsedDocumentEntry cached = documents.getIfPresent(hash);
+            if (cached != null) return cached;
+            String pinned = allowList.get(hash);
+            if (pinned == null) return persistedQueryError("PersistedQueryNotFound", new PersistedQueryNotFound(hash), hash);
+            return documents.get(hash, k -> parseAndValidate.apply(input.transform(b -> b.query(pinned))));
+        }
+
+        String key = sha256Hex(query);
+        if (hash != null && !hash.equalsIgnoreCase(key)) return persistedQueryError("PersistedQueryIdInvalid", new PersistedQueryIdInvalid(hash), hash);
+
+        PreparsedDocumentEntry cached = documents.getIfPresent(key);
+        if (cached != null) return cached;
+        PreparsedDocumentEntry entry = parseAndValidate.apply(input);
+        if (!entry.hasErrors()) documents.put(key, entry);   // don't let junk queries evict real ones
+        return entry;
+    }
+
+    private static String persistedQueryHash(ExecutionInput input) {
+        Map<String, Object> extensions = input.getExtensions();
+        if (extensions == null) return null;
+        if (extensions.get("persistedQuery") instanceof Map<?, ?> pq && pq.get("sha256Hash") instanceof String h) {
+            return h.toLowerCase();
+        }
+        return null;
+    }
+
+    private static PreparsedDocumentEntry error(GraphQLError error) {
+        return new PreparsedDocumentEntry(List.of(error));
+    }
+
+    // Apollo clients match on the message (NotFound triggers the retry with the full text)
+    private static PreparsedDocumentEntry persistedQueryError(String message, ErrorClassification type, String hash) {
+        Map<String, Object> ext = new HashMap<>();
+        ext.put("persistedQueryId", hash);
+        return error(GraphqlErrorBuilder.newError()
+                .message(message)
+                .errorType(type)
+                .extensions(ext)
+                .build());
+    }
+
+    private static PreparsedDocumentEntry notAllowed(String hash) {
+        Map<String, Object> ext = new HashMap<>();
+        ext.put("persistedQueryId", hash);
+        return error(GraphqlErrorBuilder.newError()
+                .message("PersistedQueryNotAllowed")
+                .errorType(ErrorType.FORBIDDEN)
+                .extensions(ext)
+                .build());
+    }
+
+    static String sha256Hex(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ironhack.lms.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Requests that never need an identity: health probes and catalog reads without credentials.
+ * They get the light filter chain and JwtAuthFilter skips them.
+ */
+final class PublicRoutes {
+
+    private static final PathPatternRequestMatcher.Builder PATHS = PathPatternRequestMatcher.withDefaults();
+
+    static final RequestMatcher PROBES = new OrRequestMatcher(
+            PATHS.matcher("/api/health"),
+            PATHS.matcher(HttpMethod.GET, "/actuator/health"),
+            PATHS.matcher(HttpMethod.GET, "/actuator/health/**")
+    );
+
+    // with a bearer token the course detail may reveal the caller's own drafts, so those take the full chain
+    static final RequestMatcher ANONYMOUS_CATALOG = new AndRequestMatcher(
+            new OrRequestMatcher(
+                    PATHS.matcher(HttpMethod.GET, "/api/courses"),
+                    PATHS.matcher(HttpMethod.GET, "/api/courses/*")
+            ),
+            request -> request.getHeader(HttpHeaders.AUTHORIZATION) == null
+    );
+
+    static final RequestMatcher ALL = new OrRequestMatcher(PROBES, ANONYMOUS_CATALOG);
+
+    private PublicRoutes() {}
+}
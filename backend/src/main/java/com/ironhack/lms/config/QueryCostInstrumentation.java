@@ -0,0 +1,170 @@
+package com.ironhack.lms.config;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Rejects queries that are too deep or too expensive before any data fetcher runs, and charges
+ * accepted queries against a per-client budget (see {@link GraphqlClientKeyInterceptor}).
+ * <p>
+ * Cost of a field = 1 + (list multiplier) x (cost of its selections). The multiplier of a list
+ * field is the nearest {@code pageSize}/{@code first} argument on it or its parent, else
+ * {@code default-list-size}. Introspection fields are free.
+ */
+@Component
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final List<String> SIZE_ARGUMENTS = List.of("pageSize", "first");
+
+    private final int maxDepth;
+    private final long maxCost;
+    private final int defaultListSize;
+    private final long userBudget;
+    private final long anonymousBudget;
+    private final CostBudget budgets;
+
+    private final DistributionSummary acceptedCost;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public QueryCostInstrumentation(MeterRegistry meterRegistry,
+                                    @Value("${app.graphql.limits.max-depth:10}") int maxDepth,
+                                    @Value("${app.graphql.limits.max-cost:5000}") long maxCost,
+                                    @Value("${app.graphql.limits.default-list-size:10}") int defaultListSize,
+                                    @Value("${app.graphql.limits.budget-per-window:50000}") long userBudget,
+                                    @Value("${app.graphql.limits.anonymous-budget-per-window:10000}") long anonymousBudget,
+                                    @Value("${app.graphql.limits.window:PT1M}") Duration window) {
+        this(meterRegistry, maxDepth, maxCost, defaultListSize, userBudget, anonymousBudget, window, System::currentTimeMillis);
+    }
+
+    QueryCostInstrumentation(MeterRegistry meterRegistry, int maxDepth, long maxCost, int defaultListSize,
+                             long userBudget, long anonymousBudget, Duration window, LongSupplier clock) {
+        this.maxDepth = maxDepth;
+        this.maxCost = maxCost;
+        this.defaultListSize = defaultListSize;
+        this.userBudget = userBudget;
+        this.anonymousBudget = anonymousBudget;
+        this.budgets = new CostBudget(window, 100_000, clock);
+        this.meterRegistry = meterRegistry;
+        this.acceptedCost = DistributionSummary.builder("lms.graphql.query.cost")
+                .description("Computed cost of accepted GraphQL operations")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        ExecutionContext ctx = parameters.getExecutionContext();
+        Measure m = measure(ctx.getNormalizedQueryTree().get(), ctx.getGraphQLSchema());
+
+        if (m.depth() > maxDepth) {
+            throw reject("MAX_DEPTH_EXCEEDED",
+                    "Query depth " + m.depth() + " exceeds the maximum of " + maxDepth,
+                    Map.of("depth", m.depth(), "maxDepth", maxDepth));
+        }
+        if (m.cost() > maxCost) {
+            throw reject("MAX_COST_EXCEEDED",
+                    "Query cost " + m.cost() + " exceeds the maximum of " + maxCost,
+                    Map.of("cost", m.cost(), "maxCost", maxCost));
+        }
+        String client = ctx.getGraphQLContext().getOrDefault(GraphqlClientKeyInterceptor.CLIENT_KEY, "anonymous");
+        long budget = client.startsWith("user:") ? userBudget : anonymousBudget;
+        if (!budgets.tryConsume(client, m.cost(), budget)) {
+            throw reject("COST_BUDGET_EXCEEDED",
+                    "Query cost budget exhausted, retry later",
+                    Map.of("cost", m.cost(), "budget", budget, "retryAfterSeconds", budgets.secondsUntilReset(client)));
+        }
+        acceptedCost.record(m.cost());
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    record Measure(long cost, int depth) {}
+
+    Measure measure(ExecutableNormalizedOperation operation, GraphQLSchema schema) {
+        long cost = 0;
+        int depth = 0;
+        for (ExecutableNormalizedField f : operation.getTopLevelFields()) {
+            if (isIntrospection(f)) continue;
+            cost += cost(f, schema, null);
+            depth = Math.max(depth, depth(f));
+        }
+        return new Measure(cost, depth);
+    }
+
+    private long cost(ExecutableNormalizedField field, GraphQLSchema schema, Integer pendingSize) {
+        Integer ownSize = sizeArgument(field);
+        Integer size = ownSize != null ? ownSize : pendingSize;
+        long children = 0;
+        boolean list = isList(field, schema);
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            // a page argument on a wrapper (courses(pageSize) { content }) sizes the list below it
+            children += cost(child, schema, list ? null : size);
+        }
+        long multiplier = list ? (size != null ? size : defaultListSize) : 1;
+        return 1 + multiplier * children;
+    }
+
+    private static int depth(ExecutableNormalizedField field) {
+        int max = 0;
+        for (ExecutableNormalizedField child : field.getChildren()) max = Math.max(max, depth(child));
+        return 1 + max;
+    }
+
+    private static Integer sizeArgument(ExecutableNormalizedField field) {
+        for (String name : SIZE_ARGUMENTS) {
+            if (field.getResolvedArguments().get(name) instanceof Number n) return Math.max(0, n.intValue());
+        }
+        return null;
+    }
+
+    private static boolean isList(ExecutableNormalizedField field, GraphQLSchema schema) {
+        List<GraphQLFieldDefinition> defs = field.getFieldDefinitions(schema);
+        return !defs.isEmpty() && GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(defs.get(0).getType()));
+    }
+
+    private static boolean isIntrospection(ExecutableNormalizedField field) {
+        return field.getName().startsWith("__");
+    }
+
+    private AbortExecutionException reject(String code, String message, Map<String, Object> details) {
+        Counter.builder("lms.graphql.query.rejected")
+                .description("GraphQL operations refused by depth/cost/budget limits")
+                .tag("reason", code)
+                .register(meterRegistry)
+                .increment();
+        Map<String, Object> extensions = new HashMap<>(details);
+        extensions.put("code", code);
+        GraphQLError error = GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(message)
+                .extensions(extensions)
+                .build();
+        return new AbortExecutionException(List.of(error));
+    }
+}
@@ -0,0 +1,84 @@
+package com.ironhack.lms.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.ironhack.lms.domain.CacheRegions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Creates the Hibernate second-level cache regions as bounded Caffeine caches and hands them to
+ * Hibernate as its JCache manager. Entity regions come from {@link CacheRegions}, sized by
+ * {@code app.hibernate.cache.regions.<region>.max-size}; the query cache is sized by
+ * {@code app.hibernate.cache.regions.query-results.max-size}. A region Hibernate asks for that is
+ * not created here fails startup instead of silently getting an unbounded cache.
+ * <p>
+ * Whether Hibernate uses the regions at all is {@code hibernate.cache.use_second_level_cache}
+ * (off in the test profile).
+ */
+@Component
+public class SecondLevelCacheRegions implements HibernatePropertiesCustomizer, DisposableBean {
+
+    static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private final CacheManager cacheManager;
+
+    public SecondLevelCacheRegions(MeterRegistry meterRegistry, Environment env,
+                                   @Value("${app.hibernate.cache.max-size:10000}") long defaultMaxSize,
+                                   @Value("${app.hibernate.cache.ttl:PT30M}") Duration ttl) {
+        // a manager of our own: the provider's default one is shared by every context in the JVM
+        this.cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("lms-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : CacheRegions.ENTITIES) {
+            create(region, maxSize(env, region, defaultMaxSize), ttl, meterRegistry);
+        }
+        create(QUERY_RESULTS, maxSize(env, "query-results", defaultMaxSize), ttl, meterRegistry);
+        // one entry per table; it has to outlive every cached query result, so no bound and no expiry
+        create(UPDATE_TIMESTAMPS, OptionalLong.empty(), null, meterRegistry);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    }
+
+    @Override
+    public void destroy() {
+        cacheManager.close();
+    }
+
+    private void create(String region, OptionalLong maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(maxSize);
+        if (ttl != null) config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate stores its own immutable cache entries; no need to copy them on every get/put
+        config.setStoreByValue(false);
+        config.setNativeStatisticsEnabled(true);
+        Cache<Object, Object> cache = cacheManager.createCache(region, config);
+        CaffeineCacheMetrics.monitor(meterRegistry,
+                cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), "hibernate." + region);
+    }
+
+    private static OptionalLong maxSize(Environment env, String region, long defaultMaxSize) {
+        return OptionalLong.of(env.getProperty(
+                "app.hibernate.cache.regions." + region + ".max-size", Long.class, defaultMaxSize));
+    }
+}
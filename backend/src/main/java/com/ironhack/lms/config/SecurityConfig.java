@@ -1,9 +1,14 @@
 package com.ironhack.lms.config;
 
 import com.ironhack.lms.service.auth.AppUserDetailsService;
+import com.ironhack.lms.service.auth.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -24,6 +29,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -35,20 +41,38 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtFilter;
     private final AppUserDetailsService uds;
 
+    // Probes and anonymous catalog reads: no JWT parsing, no security context, no session/request cache.
     @Bean
-    SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    SecurityFilterChain publicFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(PublicRoutes.ALL)
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(c -> c.configurationSource(corsConfigurationSource()))
+                .sessionManagement(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable);
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
+    SecurityFilterChain filterChain(HttpSecurity http, AuthenticationProvider authProvider) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(c -> c.configurationSource(corsConfigurationSource()))
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/register", "/auth/login", "/api/health", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/auth/register", "/auth/login", "/auth/refresh", "/auth/logout", "/api/health", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/auth/me").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/courses").permitAll()  // Only public course listing
                         .requestMatchers(HttpMethod.GET, "/api/courses/*").permitAll()  // Only public course details (single course by ID)
                         .requestMatchers(HttpMethod.GET, "/api/courses/*/lessons").authenticated()  // Lessons require auth
                         .requestMatchers(HttpMethod.GET, "/api/courses/*/assignments").authenticated()  // Assignments require auth
                         .requestMatchers(org.springframework.http.HttpMethod.POST, "/graphql").permitAll() // or authenticated if you want
+                        .requestMatchers(HttpMethod.GET, "/graphql-ws").permitAll() // handshake; the token comes in connection_init
                         .requestMatchers("/graphiql", "/graphiql/**").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -64,22 +88,38 @@ public class SecurityConfig {
                             res.getWriter().write("{\"error\":\"forbidden\"}");
                         })
                 )
-                .authenticationProvider(authProvider())                    // <-- uses ctor-injected UDS
+                .authenticationProvider(authProvider)                      // <-- uses ctor-injected UDS
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // JwtAuthFilter is a @Component; keep Boot from also registering it as a servlet filter for every request
+    @Bean
+    FilterRegistrationBean<JwtAuthFilter> jwtAuthFilterRegistration() {
+        var registration = new FilterRegistrationBean<>(jwtFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
-    AuthenticationProvider authProvider() {
+    AuthenticationProvider authProvider(PasswordEncoder passwordEncoder) {
         var provider = new DaoAuthenticationProvider(uds);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
+    // BCrypt runs on its own bounded pool so login/register bursts can't pin request threads
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                    @Value("${app.security.bcrypt.strength:10}") int strength,
+                                    @Value("${app.security.bcrypt.threads:0}") int threads,
+                                    @Value("${app.security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                    @Value("${app.security.bcrypt.max-wait:PT1S}") Duration maxWait,
+                                    @Value("${app.security.bcrypt.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity,
+                maxWait, retryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -92,7 +132,8 @@ public class SecurityConfig {
         var cfg = new CorsConfiguration();
         cfg.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:5174", "http://localhost:3000"));
         cfg.setAllowedMethods(List.of("GET","POST","PUT","PATCH","DELETE","OPTIONS"));
-        cfg.setAllowedHeaders(List.of("Authorization","Content-Type","X-Requested-With","Accept","Origin"));
+        cfg.setAllowedHeaders(List.of("Authorization","Content-Type","X-Requested-With","Accept","Origin",
+                GraphqlTimingInterceptor.HEADER));
         cfg.setExposedHeaders(List.of("Location"));
         cfg.setAllowCredentials(true);
         var source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,48 @@
+package com.ironhack.lms.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so callers can diff
+ * {@link #current()} around a unit of work. Installs itself as the session factory's statement
+ * inspector and delegates to any inspector configured through properties.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<long[]> count = ThreadLocal.withInitial(() -> new long[1]);
+    private StatementInspector delegate;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        this.delegate = resolve(hibernateProperties.get(AvailableSettings.STATEMENT_INSPECTOR));
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        count.get()[0]++;
+        return delegate == null ? sql : delegate.inspect(sql);
+    }
+
+    /** Statements prepared so far on this thread; only differences are meaningful. */
+    public long current() {
+        return count.get()[0];
+    }
+
+    private static StatementInspector resolve(Object configured) {
+        if (configured == null) return null;
+        if (configured instanceof StatementInspector inspector) return inspector;
+        Class<?> type = configured instanceof Class<?> c
+                ? c
+                : ClassUtils.resolveClassName(configured.toString(), SqlStatementCounter.class.getClassLoader());
+        return (StatementInspector) BeanUtils.instantiateClass(type);
+    }
+}
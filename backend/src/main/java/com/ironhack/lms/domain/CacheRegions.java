@@ -0,0 +1,21 @@
+package com.ironhack.lms.domain;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level cache regions of the read-mostly entities. Each region is a bounded
+ * Caffeine cache sized by {@code app.hibernate.cache.regions.<name>.max-size}
+ * (see {@code config.SecondLevelCacheRegions}).
+ */
+public final class CacheRegions {
+
+    public static final String COURSE = "course";
+    public static final String LESSON = "lesson";
+    public static final String ASSIGNMENT = "assignment";
+    // single-table hierarchy: Hibernate caches it at the root, so students share the region with instructors
+    public static final String USER = "app_user";
+
+    public static final List<String> ENTITIES = List.of(COURSE, LESSON, ASSIGNMENT, USER);
+
+    private CacheRegions() {}
+}
@@ -0,0 +1,16 @@
+package com.ironhack.lms.domain;
+
+/**
+ * Shared settings of the pooled table generators (V6__pooled_id_generators.sql). Ids are handed out
+ * in blocks, so inserts no longer need the row's IDENTITY value back and can be JDBC-batched.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generator";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    // ids reserved per round-trip to the generator table; keep equal to hibernate.jdbc.batch_size
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {}
+}
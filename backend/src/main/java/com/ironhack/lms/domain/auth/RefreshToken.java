@@ -0,0 +1,53 @@
+package com.ironhack.lms.domain.auth;
+
+import com.ironhack.lms.domain.user.User;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Opaque, single-use refresh token (only its SHA-256 is stored).
+ * Every rotation stays in the same family so replaying a used token can revoke the whole chain.
+ */
+@Getter @Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "refresh_token",
+        indexes = @Index(name = "ix_refresh_family", columnList = "family_id"))
+public class RefreshToken {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    // user's token version at issue time; a later role/password change kills the family
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // set when rotated or revoked; a second use of the same token is a reuse
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ironhack.lms.domain.auth;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/** Access-token jti revoked before its natural expiry (rows are useless after expires_at). */
+@Getter @Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "revoked_access_token",
+        indexes = @Index(name = "ix_revoked_expires", columnList = "expires_at"))
+public class RevokedAccessToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -1,18 +1,29 @@
 package com.ironhack.lms.domain.course;
 
+import com.ironhack.lms.domain.CacheRegions;
+import com.ironhack.lms.domain.IdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
 @Getter @Setter @NoArgsConstructor
 @Entity
-@Table(name = "assignment")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ASSIGNMENT)
+@Table(name = "assignment",
+        indexes = @Index(name = "ix_assignment_lesson_due", columnList = "lesson_id, due_at"))
 public class Assignment {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "assignment_ids")
+    @TableGenerator(name = "assignment_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "assignment",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -1,20 +1,31 @@
 package com.ironhack.lms.domain.course;
 
+import com.ironhack.lms.domain.CacheRegions;
+import com.ironhack.lms.domain.IdGenerators;
 import com.ironhack.lms.domain.user.Instructor;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
 @Getter @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "course")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COURSE)
+@Table(name = "course",
+        indexes = @Index(name = "ix_course_status_created", columnList = "status, created_at, id"))
 public class Course {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "course_ids")
+    @TableGenerator(name = "course_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "course",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
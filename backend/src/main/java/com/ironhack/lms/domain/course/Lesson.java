@@ -1,17 +1,28 @@
 package com.ironhack.lms.domain.course;
 
+import com.ironhack.lms.domain.CacheRegions;
+import com.ironhack.lms.domain.IdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "lesson")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.LESSON)
+@Table(name = "lesson",
+        indexes = @Index(name = "ix_lesson_course_order", columnList = "course_id, order_index"))
 public class Lesson {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "lesson_ids")
+    @TableGenerator(name = "lesson_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "lesson",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
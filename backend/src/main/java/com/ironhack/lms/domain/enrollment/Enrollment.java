@@ -1,5 +1,6 @@
 package com.ironhack.lms.domain.enrollment;
 
+import com.ironhack.lms.domain.IdGenerators;
 import com.ironhack.lms.domain.course.Course;
 import com.ironhack.lms.domain.user.Student;
 import jakarta.persistence.*;
@@ -13,10 +14,15 @@ import java.time.Instant;
 @NoArgsConstructor
 @Entity
 @Table(name = "enrollment",
-        uniqueConstraints = @UniqueConstraint(name = "uq_enroll", columnNames = {"student_id","course_id"}))
+        uniqueConstraints = @UniqueConstraint(name = "uq_enroll", columnNames = {"student_id","course_id"}),
+        indexes = @Index(name = "ix_enroll_student_enrolled", columnList = "student_id, enrolled_at, id"))
 public class Enrollment {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "enrollment_ids")
+    @TableGenerator(name = "enrollment_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "enrollment",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
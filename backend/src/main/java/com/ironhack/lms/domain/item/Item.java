@@ -1,5 +1,6 @@
 package com.ironhack.lms.domain.item;
 
+import com.ironhack.lms.domain.IdGenerators;
 import com.ironhack.lms.domain.course.Lesson;
 import jakarta.persistence.*;
 import lombok.Getter; import lombok.Setter;
@@ -9,10 +10,14 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
-@Entity @Table(name = "items")
+@Entity @Table(name = "items", indexes = @Index(name = "ix_items_updated", columnList = "updated_at, id"))
 @Getter @Setter
 public class Item {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "items_ids")
+    @TableGenerator(name = "items_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "items",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @OneToOne(optional = false)
@@ -1,6 +1,8 @@
 package com.ironhack.lms.domain.submission;
 
+import com.ironhack.lms.domain.IdGenerators;
 import com.ironhack.lms.domain.course.Assignment;
+import com.ironhack.lms.domain.course.Course;
 import com.ironhack.lms.domain.user.Student;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -14,10 +16,18 @@ import java.time.Instant;
 @Entity
 @Table(name = "submission",
         uniqueConstraints = @UniqueConstraint(name = "uq_submission_one_per_student",
-                columnNames = {"assignment_id","student_id"}))
+                columnNames = {"assignment_id","student_id"}),
+        indexes = {
+                @Index(name = "ix_submission_student_submitted", columnList = "student_id, submitted_at, id"),
+                @Index(name = "ix_submission_course_submitted", columnList = "course_id, submitted_at, id")
+        })
 public class Submission {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "submission_ids")
+    @TableGenerator(name = "submission_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "submission",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -28,6 +38,11 @@ public class Submission {
     @JoinColumn(name = "student_id")
     private Student student;
 
+    // copy of assignment.lesson.course so course-scoped queries stay on the submission table
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
     @Column(name = "submitted_at", nullable = false)
     private Instant submittedAt;
 
@@ -48,6 +63,9 @@ public class Submission {
     @PrePersist
     void prePersist() {
         if (submittedAt == null) submittedAt = Instant.now();
+        if (course == null && assignment != null && assignment.getLesson() != null) {
+            course = assignment.getLesson().getCourse();
+        }
         if (status == null) status = SubmissionStatus.SUBMITTED;
         if (version <= 0) version = 1;
     }
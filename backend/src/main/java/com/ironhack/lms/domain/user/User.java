@@ -1,10 +1,14 @@
 package com.ironhack.lms.domain.user;
 
+import com.ironhack.lms.domain.CacheRegions;
+import com.ironhack.lms.domain.IdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
@@ -12,12 +16,18 @@ import java.time.Instant;
 @NoArgsConstructor
 @SuperBuilder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER)
 @Table(name = "app_user")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "dtype")
 public abstract class User {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "app_user_ids")
+    @TableGenerator(name = "app_user_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "app_user",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 255)
@@ -36,6 +46,10 @@ public abstract class User {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    // bumped whenever role or password changes; embedded in issued JWTs
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @PrePersist
     void prePersist() {
         if (createdAt == null) createdAt = Instant.now();
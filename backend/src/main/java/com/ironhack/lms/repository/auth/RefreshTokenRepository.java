@@ -0,0 +1,32 @@
+package com.ironhack.lms.repository.auth;
+
+import com.ironhack.lms.domain.auth.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @EntityGraph(attributePaths = "user")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // rotation reads and retires the row in one transaction; a concurrent rotation of the same
+    // token waits here and then sees it retired
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefreshToken> findForUpdateByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revokedAt = :now where r.familyId = :familyId and r.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,19 @@
+package com.ironhack.lms.repository.auth;
+
+import com.ironhack.lms.domain.auth.RevokedAccessToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    List<RevokedAccessToken> findByExpiresAtAfter(Instant now);
+
+    @Modifying
+    @Query("delete from RevokedAccessToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,15 +1,35 @@
 package com.ironhack.lms.repository.course;
 
 import com.ironhack.lms.domain.course.Assignment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Assignment> findByLesson_Id(Long lessonId);
     boolean existsByLesson_Id(Long lessonId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Assignment> findByLesson_Course_Id(Long courseId);
+
+    // lesson is fetched so callers can group by lesson.course.id without touching proxies
+    @Query("select a from Assignment a join fetch a.lesson l where l.course.id in :courseIds order by a.id")
+    List<Assignment> findWithLessonByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    // same order as SubmissionRepository.streamGradebook
+    @Query("""
+            select new com.ironhack.lms.repository.course.GradebookColumn(a.id, a.title, a.maxPoints)
+            from Assignment a join a.lesson l
+            where l.course.id = :courseId
+            order by l.orderIndex, a.id""")
+    List<GradebookColumn> findGradebookColumns(@Param("courseId") Long courseId);
 }
 
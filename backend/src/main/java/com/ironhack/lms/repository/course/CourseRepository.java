@@ -2,12 +2,45 @@ package com.ironhack.lms.repository.course;
 
 import com.ironhack.lms.domain.course.Course;
 import com.ironhack.lms.domain.course.CourseStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
     Page<Course> findByStatus(CourseStatus status, Pageable pageable);
     Page<Course> findByInstructor_Id(Long instructorId, Pageable pageable);
+    // ownership check behind every instructor write; cached until the course table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByIdAndInstructor_Id(Long courseId, Long instructorId);
+
+    // catalog rows without the TEXT description (GraphQL lists that don't select it)
+    @Query(value = """
+            select new com.ironhack.lms.repository.course.CourseSummary(
+                c.id, c.instructor.id, c.title, c.status, c.createdAt, c.publishedAt)
+            from Course c where c.status = :status""",
+            countQuery = "select count(c) from Course c where c.status = :status")
+    Page<CourseSummary> findSummariesByStatus(@Param("status") CourseStatus status, Pageable pageable);
+
+    // keyset paging on (created_at desc, id desc); pass CursorPage.fetchSize(n) as the limit.
+    // The redundant <= is a seekable range on (status, created_at, id); the OR only trims ties.
+    List<Course> findByStatusOrderByCreatedAtDescIdDesc(CourseStatus status, Pageable limit);
+
+    @Query("""
+            select c from Course c
+            where c.status = :status
+              and c.createdAt <= :createdAt
+              and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+            order by c.createdAt desc, c.id desc""")
+    List<Course> findByStatusAfter(@Param("status") CourseStatus status,
+                                   @Param("createdAt") Instant createdAt,
+                                   @Param("id") Long id,
+                                   Pageable limit);
 }
@@ -0,0 +1,15 @@
+package com.ironhack.lms.repository.course;
+
+import com.ironhack.lms.domain.course.CourseStatus;
+
+import java.time.Instant;
+
+/** Course row without the TEXT description, for list views that don't ask for it. */
+public record CourseSummary(
+        Long id,
+        Long instructorId,
+        String title,
+        CourseStatus status,
+        Instant createdAt,
+        Instant publishedAt
+) {}
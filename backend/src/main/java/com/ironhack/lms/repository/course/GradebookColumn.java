@@ -0,0 +1,8 @@
+package com.ironhack.lms.repository.course;
+
+/** One assignment column of a course gradebook, in lesson order. */
+public record GradebookColumn(
+        Long assignmentId,
+        String title,
+        int maxPoints
+) {}
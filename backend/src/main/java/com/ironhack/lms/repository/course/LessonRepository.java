@@ -1,10 +1,18 @@
 package com.ironhack.lms.repository.course;
 
 import com.ironhack.lms.domain.course.Lesson;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
+    // served from the query cache until a lesson row changes; the lessons themselves come from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Lesson> findByCourse_IdOrderByOrderIndexAsc(Long courseId);
+
+    List<Lesson> findByCourse_IdInOrderByOrderIndexAsc(Collection<Long> courseIds);
 }
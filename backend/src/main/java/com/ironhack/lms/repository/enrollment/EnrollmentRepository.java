@@ -4,14 +4,49 @@ import com.ironhack.lms.domain.enrollment.Enrollment;
 import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    // enrollments with their course minus its TEXT description (GraphQL lists that don't select it)
+    String SUMMARIES_BY_STUDENT = """
+            select new com.ironhack.lms.repository.enrollment.EnrollmentSummary(
+                e.id, e.student.id, e.enrolledAt, e.status,
+                c.id, c.instructor.id, c.title, c.status, c.createdAt, c.publishedAt)
+            from Enrollment e join e.course c where e.student.id = :studentId""";
+
     Page<Enrollment> findByStudent_Id(Long studentId, Pageable pageable);
+    // reads pageSize+1 rows and skips the COUNT query
+    Slice<Enrollment> findSliceByStudent_Id(Long studentId, Pageable pageable);
+    @Query(value = SUMMARIES_BY_STUDENT,
+            countQuery = "select count(e) from Enrollment e where e.student.id = :studentId")
+    Page<EnrollmentSummary> findSummariesByStudent_Id(@Param("studentId") Long studentId, Pageable pageable);
+    @Query(SUMMARIES_BY_STUDENT)
+    Slice<EnrollmentSummary> findSummarySliceByStudent_Id(@Param("studentId") Long studentId, Pageable pageable);
+
     Page<Enrollment> findByStudent_IdAndStatus(Long studentId, EnrollmentStatus status, Pageable pageable);
     boolean existsByCourse_IdAndStudent_Id(Long courseId, Long studentId);
     boolean existsByCourse_IdAndStudent_IdAndStatus(Long courseId, Long studentId, EnrollmentStatus status);
     Optional<Enrollment> findByIdAndStudent_Id(Long id, Long studentId);
+
+    // keyset paging on (enrolled_at desc, id desc); pass CursorPage.fetchSize(n) as the limit
+    List<Enrollment> findByStudent_IdOrderByEnrolledAtDescIdDesc(Long studentId, Pageable limit);
+
+    @Query("""
+            select e from Enrollment e
+            where e.student.id = :studentId
+              and e.enrolledAt <= :enrolledAt
+              and (e.enrolledAt < :enrolledAt or (e.enrolledAt = :enrolledAt and e.id < :id))
+            order by e.enrolledAt desc, e.id desc""")
+    List<Enrollment> findByStudentAfter(@Param("studentId") Long studentId,
+                                        @Param("enrolledAt") Instant enrolledAt,
+                                        @Param("id") Long id,
+                                        Pageable limit);
 }
@@ -0,0 +1,24 @@
+package com.ironhack.lms.repository.enrollment;
+
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
+import com.ironhack.lms.repository.course.CourseSummary;
+
+import java.time.Instant;
+
+/** Enrollment row joined with its course, minus the course's TEXT description. */
+public record EnrollmentSummary(
+        Long id,
+        Long studentId,
+        Instant enrolledAt,
+        EnrollmentStatus status,
+        CourseSummary course
+) {
+    // JPQL constructor expression (no nesting, so the course columns come flat)
+    public EnrollmentSummary(Long id, Long studentId, Instant enrolledAt, EnrollmentStatus status,
+                             Long courseId, Long instructorId, String title, CourseStatus courseStatus,
+                             Instant createdAt, Instant publishedAt) {
+        this(id, studentId, enrolledAt, status,
+                new CourseSummary(courseId, instructorId, title, courseStatus, createdAt, publishedAt));
+    }
+}
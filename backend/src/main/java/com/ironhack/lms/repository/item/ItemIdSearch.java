@@ -0,0 +1,24 @@
+package com.ironhack.lms.repository.item;
+
+import com.ironhack.lms.domain.item.Item;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * First phase of item search: page over matching ids only, so LIMIT/OFFSET run in SQL.
+ * Load the entities afterwards with {@link ItemRepository#findAllWithRelationsByIdIn}.
+ */
+public interface ItemIdSearch {
+
+    Page<Long> findIdPage(Specification<Item> spec, Pageable pageable);
+
+    /** Like {@link #findIdPage} without the COUNT: reads one extra id to answer hasNext. */
+    Slice<Long> findIdSlice(Specification<Item> spec, Pageable pageable);
+
+    List<Long> findIds(Specification<Item> spec, Sort sort, int limit);
+}
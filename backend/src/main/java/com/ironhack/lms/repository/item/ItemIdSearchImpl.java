@@ -0,0 +1,73 @@
+package com.ironhack.lms.repository.item;
+
+import com.ironhack.lms.domain.item.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class ItemIdSearchImpl implements ItemIdSearch {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<Long> findIdPage(Specification<Item> spec, Pageable pageable) {
+        TypedQuery<Long> query = idQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<Long> findIdSlice(Specification<Item> spec, Pageable pageable) {
+        TypedQuery<Long> query = idQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) return new SliceImpl<>(query.getResultList(), pageable, false);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<Long> ids = query.getResultList();
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? ids.subList(0, pageable.getPageSize()) : ids, pageable, hasNext);
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Item> spec, Sort sort, int limit) {
+        return idQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<Long> idQuery(Specification<Item> spec, Sort sort) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> q = cb.createQuery(Long.class);
+        Root<Item> root = q.from(Item.class);
+        q.select(root.get("id"));
+        Predicate where = spec == null ? null : spec.toPredicate(root, q, cb);
+        if (where != null) q.where(where);
+        if (sort.isSorted()) q.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return em.createQuery(q);
+    }
+
+    private long count(Specification<Item> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> q = cb.createQuery(Long.class);
+        Root<Item> root = q.from(Item.class);
+        q.select(cb.count(root));
+        Predicate where = spec == null ? null : spec.toPredicate(root, q, cb);
+        if (where != null) q.where(where);
+        return em.createQuery(q).getSingleResult();
+    }
+}
@@ -1,16 +1,14 @@
 package com.ironhack.lms.repository.item;
 
 import com.ironhack.lms.domain.item.Item;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
-import org.springframework.lang.Nullable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item> {
+public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item>, ItemIdSearch {
 
     boolean existsByLesson_Id(Long lessonId);
 
@@ -25,11 +23,32 @@ public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificat
            "WHERE i.id = :id")
     Optional<Item> findByIdWithFullRelations(@Param("id") Long id);
 
-
-    // Redeclare to attach @EntityGraph so tags, lesson, and course are loaded (avoids LazyInitialization later)
-    @Override
-    @EntityGraph(attributePaths = {"tags", "lesson", "lesson.course", "lesson.course.instructor"})
-    Page<Item> findAll(@Nullable Specification<Item> spec, Pageable pageable);
+    // Second phase of search (see ItemIdSearch): fetch one page worth of ids with everything the mappers touch.
+    // No LIMIT here, so joining the tags collection is safe.
+    @Query("SELECT DISTINCT i FROM Item i " +
+           "LEFT JOIN FETCH i.tags " +
+           "JOIN FETCH i.lesson l " +
+           "JOIN FETCH l.course c " +
+           "JOIN FETCH c.instructor " +
+           "WHERE i.id IN :ids")
+    List<Item> findAllWithRelationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Projection variant of the second phase for list views that don't select the body: body_markdown is never read
+    @Query("SELECT new com.ironhack.lms.repository.item.ItemSummary(" +
+           "i.id, i.lesson.id, i.title, i.description, i.createdAt, i.updatedAt) " +
+           "FROM Item i WHERE i.id IN :ids")
+    List<ItemSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // (itemId, tag) rows for the summaries above
+    @Query("SELECT i.id, t FROM Item i JOIN i.tags t WHERE i.id IN :ids")
+    List<Object[]> findTagsByItemIdIn(@Param("ids") Collection<Long> ids);
 
     Optional<com.ironhack.lms.domain.item.Item> findByLesson_Id(Long lessonId);
+
+    // Lesson.item batch loader: one statement for every lesson in the response
+    @Query("SELECT DISTINCT i FROM Item i " +
+           "LEFT JOIN FETCH i.tags " +
+           "JOIN FETCH i.lesson l " +
+           "WHERE l.id IN :lessonIds")
+    List<Item> findAllWithTagsByLessonIdIn(@Param("lessonIds") Collection<Long> lessonIds);
 }
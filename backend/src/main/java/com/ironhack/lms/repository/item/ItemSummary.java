@@ -0,0 +1,25 @@
+package com.ironhack.lms.repository.item;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/** Item row without body_markdown; tags are filled in separately and only when asked for. */
+public record ItemSummary(
+        Long id,
+        Long lessonId,
+        String title,
+        String description,
+        Set<String> tags,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    // JPQL constructor expression
+    public ItemSummary(Long id, Long lessonId, String title, String description,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, lessonId, title, description, Set.of(), createdAt, updatedAt);
+    }
+
+    public ItemSummary withTags(Set<String> tags) {
+        return new ItemSummary(id, lessonId, title, description, tags, createdAt, updatedAt);
+    }
+}
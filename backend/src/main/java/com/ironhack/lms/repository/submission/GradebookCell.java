@@ -0,0 +1,16 @@
+package com.ironhack.lms.repository.submission;
+
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+
+/**
+ * One (student, assignment) pair of a course gradebook. {@code score} and {@code status} are null
+ * when the student has not submitted; {@code assignmentId} is null for a course without assignments.
+ */
+public record GradebookCell(
+        Long studentId,
+        String email,
+        String fullName,
+        Long assignmentId,
+        Integer score,
+        SubmissionStatus status
+) {}
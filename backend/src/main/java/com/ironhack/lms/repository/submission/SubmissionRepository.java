@@ -1,18 +1,104 @@
 package com.ironhack.lms.repository.submission;
 
 import com.ironhack.lms.domain.submission.Submission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
 
     Optional<Submission> findByAssignment_IdAndStudent_Id(Long assignmentId, Long studentId);
 
-    Page<Submission> findByStudent_Id(Long studentId, Pageable pageable);
-    
-    // path: assignment -> lesson -> course
-    Page<Submission> findByAssignment_Lesson_Course_Id(Long courseId, Pageable pageable);
+    // bulk grading: the course's submissions among ids, with the assignment (maxPoints) in the same row
+    @Query("""
+            select s from Submission s
+            join fetch s.assignment
+            where s.course.id = :courseId and s.id in :ids""")
+    List<Submission> findForGrading(@Param("courseId") Long courseId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Every (enrolled student, assignment) pair of the course with its submission, if any, ordered by
+     * student and then by column. Read forward-only inside a transaction and close the stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.ironhack.lms.repository.submission.GradebookCell(
+                st.id, st.email, st.fullName, a.id, s.score, s.status)
+            from Enrollment e
+            join e.student st
+            left join Lesson l on l.course.id = e.course.id
+            left join Assignment a on a.lesson.id = l.id
+            left join Submission s on s.assignment.id = a.id and s.student.id = st.id
+            where e.course.id = :courseId
+              and e.status <> com.ironhack.lms.domain.enrollment.EnrollmentStatus.CANCELLED
+            order by st.fullName, st.id, l.orderIndex, a.id""")
+    Stream<GradebookCell> streamGradebook(@Param("courseId") Long courseId);
+
+    // Listings select SubmissionRow directly: every column is on the submission row (course_id is
+    // denormalized), so a page is one SELECT with no joins and no lazy loads per row.
+    // Sort properties of a Pageable resolve against the Submission alias s.
+    String ROW = """
+            select new com.ironhack.lms.repository.submission.SubmissionRow(
+                s.id, s.assignment.id, s.course.id, s.student.id, s.submittedAt, s.artifactUrl,
+                s.status, s.score, s.feedback, s.version)
+            from Submission s
+            """;
+
+    @Query(value = ROW + "where s.student.id = :studentId",
+            countQuery = "select count(s) from Submission s where s.student.id = :studentId")
+    Page<SubmissionRow> findRowsByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    // slice variants read pageSize+1 rows and skip the COUNT query
+    @Query(ROW + "where s.student.id = :studentId")
+    Slice<SubmissionRow> findRowSliceByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    @Query(value = ROW + "where s.course.id = :courseId",
+            countQuery = "select count(s) from Submission s where s.course.id = :courseId")
+    Page<SubmissionRow> findRowsByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    @Query(ROW + "where s.course.id = :courseId")
+    Slice<SubmissionRow> findRowSliceByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    // keyset paging on (submitted_at desc, id desc); pass CursorPage.fetchSize(n) as the limit
+    @Query(ROW + """
+            where s.student.id = :studentId
+            order by s.submittedAt desc, s.id desc""")
+    List<SubmissionRow> findRowsByStudentFirst(@Param("studentId") Long studentId, Pageable limit);
+
+    @Query(ROW + """
+            where s.student.id = :studentId
+              and s.submittedAt <= :submittedAt
+              and (s.submittedAt < :submittedAt or (s.submittedAt = :submittedAt and s.id < :id))
+            order by s.submittedAt desc, s.id desc""")
+    List<SubmissionRow> findRowsByStudentAfter(@Param("studentId") Long studentId,
+                                                         @Param("submittedAt") Instant submittedAt,
+                                                         @Param("id") Long id,
+                                                         Pageable limit);
+
+    @Query(ROW + """
+            where s.course.id = :courseId
+            order by s.submittedAt desc, s.id desc""")
+    List<SubmissionRow> findRowsByCourseFirst(@Param("courseId") Long courseId, Pageable limit);
+
+    @Query(ROW + """
+            where s.course.id = :courseId
+              and s.submittedAt <= :submittedAt
+              and (s.submittedAt < :submittedAt or (s.submittedAt = :submittedAt and s.id < :id))
+            order by s.submittedAt desc, s.id desc""")
+    List<SubmissionRow> findRowsByCourseAfter(@Param("courseId") Long courseId,
+                                                        @Param("submittedAt") Instant submittedAt,
+                                                        @Param("id") Long id,
+                                                        Pageable limit);
 }
@@ -0,0 +1,19 @@
+package com.ironhack.lms.repository.submission;
+
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+
+import java.time.Instant;
+
+/** Submission columns as listed (course_id is denormalized onto the row), read without loading the entity. */
+public record SubmissionRow(
+        Long id,
+        Long assignmentId,
+        Long courseId,
+        Long studentId,
+        Instant submittedAt,
+        String artifactUrl,
+        SubmissionStatus status,
+        Integer score,
+        String feedback,
+        int version
+) {}
@@ -0,0 +1,7 @@
+package com.ironhack.lms.repository.user;
+
+import com.ironhack.lms.domain.user.Student;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StudentRepository extends JpaRepository<Student, Long> {
+}
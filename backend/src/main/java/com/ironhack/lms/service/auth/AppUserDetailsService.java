@@ -1,7 +1,5 @@
 package com.ironhack.lms.service.auth;
 
-import com.ironhack.lms.domain.user.User;
-import com.ironhack.lms.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,16 +14,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AppUserDetailsService implements UserDetailsService {
 
-    private final UserRepository users;
+    private final UserDirectory directory;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User u = users.findByEmail(email)
+        UserDirectory.CachedUser u = directory.find(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        List<GrantedAuthority> auth = List.of(new SimpleGrantedAuthority("ROLE_" + u.getRole().name()));
+        List<GrantedAuthority> auth = List.of(new SimpleGrantedAuthority("ROLE_" + u.role().name()));
         return org.springframework.security.core.userdetails.User
-                .withUsername(u.getEmail())
-                .password(u.getPasswordHash())
+                .withUsername(u.email())
+                .password(u.passwordHash())
                 .authorities(auth)
                 .accountLocked(false).accountExpired(false).credentialsExpired(false).disabled(false)
                 .build();
@@ -0,0 +1,139 @@
+package com.ironhack.lms.service.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs a (slow) delegate encoder on a small dedicated pool with a bounded queue, so a
+ * login/registration burst cannot occupy every request thread.
+ * <p>
+ * {@code maxWait} bounds how long a request thread may block for its hash, queueing included.
+ * A request is refused at once with {@link PasswordHashingBusyException} when the queue is full or
+ * when the work already ahead of it (at the recent average hash time) would not finish within
+ * {@code maxWait}; a request that was admitted but still runs past {@code maxWait} is refused then.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final long retryAfterSeconds;
+    // moving average of recent hash times; 0 until the first hash completes
+    private final AtomicLong avgHashNanos = new AtomicLong();
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  Duration maxWait, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("lms.auth.hashing")
+                .description("Time spent running the password hash")
+                .tag("op", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("lms.auth.hashing")
+                .description("Time spent running the password hash")
+                .tag("op", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("lms.auth.hashing.rejected")
+                .description("Hash requests refused because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("lms.auth.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Hash requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("lms.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hash requests currently running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Timer timer, Supplier<T> work) {
+        if (wouldWaitPastMaxWait()) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(timer, work));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // every hash ahead of us (running or queued) plus our own, in rounds of one hash per worker
+    private boolean wouldWaitPastMaxWait() {
+        long avg = avgHashNanos.get();
+        if (avg == 0) return false;
+        int ahead = executor.getActiveCount() + executor.getQueue().size();
+        long rounds = ahead / executor.getMaximumPoolSize() + 1;
+        return rounds * avg > maxWait.toNanos();
+    }
+
+    private <T> T timed(Timer timer, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return timer.record(work);
+        } finally {
+            long took = System.nanoTime() - start;
+            avgHashNanos.updateAndGet(avg -> avg == 0 ? took : avg + (took - avg) / 8);
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "bcrypt-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
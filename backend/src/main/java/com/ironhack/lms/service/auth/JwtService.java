@@ -1,7 +1,15 @@
 package com.ironhack.lms.service.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ironhack.lms.domain.user.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,25 +20,56 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class JwtService {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${app.jwt.secret}")
     private String secret; // at least 32 chars for HS256
 
-    @Value("${app.jwt.expiration-minutes:120}")
+    @Value("${app.jwt.expiration-minutes:15}")
     private long expirationMin;
 
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
     private SecretKey key;
+    private JwtParser parser;
+
+    // token digest -> verified claims; entries die with the token's exp
+    private Cache<String, Claims> verified;
+    private Counter cacheHits;
+    private Counter cacheMisses;
 
     @PostConstruct
     void init() {
         // If you prefer Base64 secrets, decode here instead of getBytes()
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build(); // immutable, thread-safe
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        this.cacheHits = Counter.builder("lms.jwt.verified.cache")
+                .description("JWT verifications served from the verified-claims cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("lms.jwt.verified.cache")
+                .description("JWT verifications that ran the signature check")
+                .tag("result", "miss")
+                .register(meterRegistry);
     }
 
+    // Subject-only token; the filter has to look the user up to authenticate it.
     public String generateToken(UserDetails user) {
         Instant now = Instant.now();
         return Jwts.builder()
@@ -41,13 +80,48 @@ public class JwtService {
                 .compact();
     }
 
+    // Self-contained token: id, role and token version travel as claims (stateless principal mode).
+    // The jti lets a single access token be revoked before it expires.
+    public String generateToken(LmsPrincipal principal) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(principal.email())
+                .claim(CLAIM_USER_ID, principal.id())
+                .claim(CLAIM_ROLE, principal.role().name())
+                .claim(CLAIM_TOKEN_VERSION, principal.tokenVersion())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(expirationMin * 60)))
+                .signWith(key)
+                .compact();
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parser()         // 0.12.x
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return parseClaims(token).getSubject();
+    }
+
+    /**
+     * Principal rebuilt from the verified claims alone.
+     * Empty for tokens issued without the principal claims.
+     */
+    public Optional<LmsPrincipal> extractPrincipal(String token) {
+        Claims claims = parseClaims(token);
+        Object uid = claims.get(CLAIM_USER_ID);
+        Object role = claims.get(CLAIM_ROLE);
+        Object ver = claims.get(CLAIM_TOKEN_VERSION);
+        if (!(uid instanceof Number id) || !(role instanceof String roleName) || claims.getSubject() == null) {
+            return Optional.empty();
+        }
+        int version = ver instanceof Number n ? n.intValue() : 0;
+        return Optional.of(new LmsPrincipal(id.longValue(), claims.getSubject(), Role.valueOf(roleName), version));
+    }
+
+    public Optional<String> extractTokenId(String token) {
+        return Optional.ofNullable(parseClaims(token).getId());
+    }
+
+    public Instant extractExpiration(String token) {
+        return parseClaims(token).getExpiration().toInstant();
     }
 
     public boolean isValid(String token, UserDetails user) {
@@ -57,4 +131,39 @@ public class JwtService {
             return false;
         }
     }
+
+    /**
+     * Verifies signature and expiry once per token lifetime; later calls reuse the claims.
+     * Invalid tokens throw and are never cached.
+     */
+    private Claims parseClaims(String token) {
+        String digest = TokenDigests.sha256Base64(token);
+        Claims cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) verified.put(digest, claims);
+        return claims;
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, millis) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
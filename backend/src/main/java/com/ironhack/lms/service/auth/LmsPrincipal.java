@@ -0,0 +1,40 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated user as carried by the JWT (id, email, role, token version).
+ * Built from verified claims so services can authorize without reading app_user.
+ */
+public record LmsPrincipal(Long id, String email, Role role, int tokenVersion) implements UserDetails {
+
+    public static LmsPrincipal of(User u) {
+        return new LmsPrincipal(u.getId(), u.getEmail(), u.getRole(), u.getTokenVersion());
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // never carried in the token
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
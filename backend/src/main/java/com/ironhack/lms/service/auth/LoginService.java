@@ -1,9 +1,9 @@
 package com.ironhack.lms.service.auth;
 
 import com.ironhack.lms.domain.user.User;
-import com.ironhack.lms.repository.user.UserRepository;
 import com.ironhack.lms.web.auth.dto.LoginRequest;
 import com.ironhack.lms.web.auth.dto.LoginResponse;
+import com.ironhack.lms.web.auth.dto.RefreshRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,8 +19,9 @@ public class LoginService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final AppUserDetailsService userDetailsService;
-    private final UserRepository userRepository;
+    private final UserDirectory directory;
+    private final RefreshTokenService refreshTokens;
+    private final TokenRevocationList revocations;
 
     public LoginResponse login(LoginRequest request) {
         try {
@@ -31,30 +32,57 @@ public class LoginService {
 
             // Get user details
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            User user = userRepository.findByEmail(userDetails.getUsername())
+            UserDirectory.CachedUser user = directory.find(userDetails.getUsername())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-            // Generate JWT token
-            String token = jwtService.generateToken(userDetails);
+            // Generate JWT token (carries id/role/version so requests need no user lookup)
+            String token = jwtService.generateToken(user.principal());
+            String refreshToken = refreshTokens.issue(user.id(), user.tokenVersion());
 
             // Return response
             return new LoginResponse(
                 token,
+                refreshToken,
                 new LoginResponse.UserInfo(
-                    user.getId(),
-                    user.getEmail(),
-                    user.getFullName(),
-                    user.getRole().name()
+                    user.id(),
+                    user.email(),
+                    user.fullName(),
+                    user.role().name()
                 )
             );
         } catch (Exception e) {
+            // saturation is not a bad password: let it surface as 503
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof PasswordHashingBusyException busy) throw busy;
+            }
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password");
         }
     }
-}
-
-
-
-
 
+    public LoginResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokens.rotate(request.refreshToken());
+        User user = rotation.user();
+        return new LoginResponse(
+            jwtService.generateToken(LmsPrincipal.of(user)),
+            rotation.refreshToken(),
+            new LoginResponse.UserInfo(
+                user.getId(),
+                user.getEmail(),
+                user.getFullName(),
+                user.getRole().name()
+            )
+        );
+    }
 
+    /** Ends the refresh family and, when given, kills the presented access token right away. */
+    public void logout(RefreshRequest request, String accessToken) {
+        refreshTokens.revoke(request.refreshToken());
+        if (accessToken == null) return;
+        try {
+            jwtService.extractTokenId(accessToken)
+                .ifPresent(jti -> revocations.revoke(jti, jwtService.extractExpiration(accessToken)));
+        } catch (Exception ignored) {
+            // expired or malformed: nothing left to revoke
+        }
+    }
+}
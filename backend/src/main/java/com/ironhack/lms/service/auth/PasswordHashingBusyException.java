@@ -0,0 +1,15 @@
+package com.ironhack.lms.service.auth;
+
+import lombok.Getter;
+
+/** Hashing pool is saturated; surfaced as 503 with Retry-After. */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Password hashing is at capacity, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
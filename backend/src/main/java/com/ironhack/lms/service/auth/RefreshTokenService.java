@@ -0,0 +1,104 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.auth.RefreshToken;
+import com.ironhack.lms.domain.user.User;
+import com.ironhack.lms.repository.auth.RefreshTokenRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository tokens;
+    private final UserRepository users;
+
+    @Value("${app.jwt.refresh-expiration-days:14}")
+    private long refreshDays;
+
+    /** The user rotated into, plus the refresh token that replaces the one presented. */
+    public record Rotation(User user, String refreshToken) {}
+
+    // --- Commands ---
+
+    /** Starts a new family (login / registration). */
+    @Transactional
+    public String issue(Long userId, int tokenVersion) {
+        return issue(users.getReferenceById(userId), tokenVersion, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Single use: the presented token is retired and a new one is issued in the same family.
+     * Replaying a retired token revokes the whole family (it was probably stolen).
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = tokens.findForUpdateByTokenHash(TokenDigests.sha256Hex(rawToken))
+                .orElseThrow(RefreshTokenService::invalid);
+        Instant now = Instant.now();
+
+        if (current.getRevokedAt() != null) {
+            tokens.revokeFamily(current.getFamilyId(), now);
+            throw invalid();
+        }
+        if (!current.getExpiresAt().isAfter(now)) throw invalid();
+
+        User user = current.getUser();
+        if (user.getTokenVersion() != current.getTokenVersion()) {
+            // role or password changed since login
+            tokens.revokeFamily(current.getFamilyId(), now);
+            throw invalid();
+        }
+
+        current.setRevokedAt(now);
+        String next = issue(user, user.getTokenVersion(), current.getFamilyId());
+        return new Rotation(user, next);
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        tokens.findByTokenHash(TokenDigests.sha256Hex(rawToken))
+                .ifPresent(t -> tokens.revokeFamily(t.getFamilyId(), Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        tokens.deleteExpired(Instant.now());
+    }
+
+    // --- Helpers ---
+
+    private String issue(User user, int tokenVersion, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken t = new RefreshToken();
+        t.setTokenHash(TokenDigests.sha256Hex(raw));
+        t.setFamilyId(familyId);
+        t.setUser(user);
+        t.setTokenVersion(tokenVersion);
+        t.setExpiresAt(Instant.now().plus(Duration.ofDays(refreshDays)));
+        tokens.save(t);
+        return raw;
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+}
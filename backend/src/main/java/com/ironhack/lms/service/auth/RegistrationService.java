@@ -8,7 +8,6 @@ import com.ironhack.lms.web.auth.dto.RegisterRequest;
 import com.ironhack.lms.web.auth.dto.RegisterResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -20,7 +19,8 @@ public class RegistrationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final AppUserDetailsService userDetailsService;
+    private final UserDirectory directory;
+    private final RefreshTokenService refreshTokens;
 
     public RegisterResponse register(RegisterRequest request) {
         // Check if user already exists
@@ -38,14 +38,16 @@ public class RegistrationService {
 
         // Save user
         User savedUser = userRepository.save(student);
+        directory.invalidate(savedUser.getEmail());
 
         // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getEmail());
-        String token = jwtService.generateToken(userDetails);
+        String token = jwtService.generateToken(LmsPrincipal.of(savedUser));
+        String refreshToken = refreshTokens.issue(savedUser.getId(), savedUser.getTokenVersion());
 
         // Return response
         return new RegisterResponse(
             token,
+            refreshToken,
             new RegisterResponse.UserInfo(
                 savedUser.getId(),
                 savedUser.getEmail(),
@@ -0,0 +1,29 @@
+package com.ironhack.lms.service.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/** SHA-256 helpers for keying/storing tokens without keeping the raw value. */
+final class TokenDigests {
+
+    private TokenDigests() {}
+
+    static String sha256Base64(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(token));
+    }
+
+    static String sha256Hex(String token) {
+        return HexFormat.of().formatHex(sha256(token));
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
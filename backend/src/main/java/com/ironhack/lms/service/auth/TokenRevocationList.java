@@ -0,0 +1,59 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.auth.RevokedAccessToken;
+import com.ironhack.lms.repository.auth.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access-token ids held in memory so JwtAuthFilter can check them without a query.
+ * revoked_access_token is the source of truth; every node re-syncs from it periodically.
+ * The set stays small: access tokens are short-lived and entries drop out once they expire.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final RevokedAccessTokenRepository repo;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    public TokenRevocationList(RevokedAccessTokenRepository repo, MeterRegistry meterRegistry) {
+        this.repo = repo;
+        Gauge.builder("lms.jwt.revoked", revoked, Map::size)
+                .description("Access tokens currently revoked in memory")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String jti) {
+        Instant exp = revoked.get(jti);
+        return exp != null && exp.isAfter(Instant.now());
+    }
+
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) return; // already dead
+        var row = new RevokedAccessToken();
+        row.setJti(jti);
+        row.setExpiresAt(expiresAt);
+        repo.save(row);
+        revoked.put(jti, expiresAt);
+    }
+
+    // picks up revocations made on other nodes and forgets expired ones
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-interval:PT30S}")
+    @Transactional
+    public void sync() {
+        Instant now = Instant.now();
+        repo.deleteExpired(now);
+        for (RevokedAccessToken r : repo.findByExpiresAtAfter(now)) {
+            revoked.put(r.getJti(), r.getExpiresAt());
+        }
+        revoked.values().removeIf(exp -> !exp.isAfter(now));
+    }
+}
@@ -0,0 +1,84 @@
+package com.ironhack.lms.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.User;
+import com.ironhack.lms.repository.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cached email -> user snapshot lookups shared by security and the service layer.
+ * Size-bounded (LRU-ish) with a TTL; anything that changes role or password must
+ * bump the user's token version and call {@link #invalidate(String)}.
+ */
+@Component
+public class UserDirectory {
+
+    private final UserRepository users;
+    private final Cache<String, CachedUser> cache;
+
+    public UserDirectory(UserRepository users, MeterRegistry meterRegistry,
+                         @Value("${app.users.cache.max-size:10000}") long maxSize,
+                         @Value("${app.users.cache.ttl:PT10M}") Duration ttl) {
+        this.users = users;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    /** Misses are not cached, so a user registered later is found on the next call. */
+    public Optional<CachedUser> find(String email) {
+        if (email == null) return Optional.empty();
+        return Optional.ofNullable(cache.get(email, this::load));
+    }
+
+    public Optional<LmsPrincipal> principal(String email) {
+        return find(email).map(CachedUser::principal);
+    }
+
+    /** Principal placed by JwtAuthFilter when present; otherwise looked up by the authentication name. */
+    public Optional<LmsPrincipal> resolve(Authentication auth) {
+        if (auth == null) return Optional.empty();
+        if (auth.getPrincipal() instanceof LmsPrincipal p) return Optional.of(p);
+        return principal(auth.getName());
+    }
+
+    /** False once the user is gone or their token version moved past the one in the token. */
+    public boolean isCurrent(LmsPrincipal p) {
+        return find(p.email())
+                .map(u -> u.id().equals(p.id()) && u.tokenVersion() == p.tokenVersion())
+                .orElse(false);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) cache.invalidate(email);
+    }
+
+    private CachedUser load(String email) {
+        return users.findByEmail(email).map(CachedUser::of).orElse(null);
+    }
+
+    public record CachedUser(Long id, String email, String fullName, Role role,
+                             String passwordHash, int tokenVersion) {
+
+        static CachedUser of(User u) {
+            return new CachedUser(u.getId(), u.getEmail(), u.getFullName(), u.getRole(),
+                    u.getPasswordHash(), u.getTokenVersion());
+        }
+
+        public LmsPrincipal principal() {
+            return new LmsPrincipal(id, email, role, tokenVersion);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ironhack.lms.service.course;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ironhack.lms.web.course.dto.CourseResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pages of the published catalog (REST and GraphQL share them).
+ * Any course change drops every page: a publish/unpublish shifts the whole ordering anyway.
+ */
+@Component
+public class CourseCatalogCache {
+
+    private final Cache<Key, Page<CourseResponse>> pages;
+
+    public CourseCatalogCache(MeterRegistry meterRegistry,
+                              @Value("${app.catalog.cache.max-size:500}") long maxSize,
+                              @Value("${app.catalog.cache.ttl:PT5M}") Duration ttl) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "catalog");
+    }
+
+    public Page<CourseResponse> get(Pageable pageable, Function<Pageable, Page<CourseResponse>> loader) {
+        return pages.get(Key.of(pageable), k -> snapshot(loader.apply(pageable)));
+    }
+
+    /** Cached page if one is already warm; never loads. */
+    public Page<CourseResponse> getIfPresent(Pageable pageable) {
+        return pages.getIfPresent(Key.of(pageable));
+    }
+
+    // after commit when a transaction is active, so a reload can't re-cache the old rows
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        pages.invalidateAll();
+    }
+
+    private static Page<CourseResponse> snapshot(Page<CourseResponse> page) {
+        return new PageImpl<>(List.copyOf(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    private record Key(int page, int size, String sort) {
+        static Key of(Pageable p) {
+            return p.isPaged()
+                    ? new Key(p.getPageNumber(), p.getPageSize(), p.getSort().toString())
+                    : new Key(-1, -1, p.getSort().toString());
+        }
+    }
+}
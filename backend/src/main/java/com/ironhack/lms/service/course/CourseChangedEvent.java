@@ -0,0 +1,4 @@
+package com.ironhack.lms.service.course;
+
+/** Published after a course is created, updated or deleted; drives catalog cache invalidation. */
+public record CourseChangedEvent(Long courseId) {}
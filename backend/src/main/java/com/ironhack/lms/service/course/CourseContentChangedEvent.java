@@ -0,0 +1,4 @@
+package com.ironhack.lms.service.course;
+
+/** Published after a lesson or assignment of a course changes; {@code courseId} may be null when unknown. */
+public record CourseContentChangedEvent(Long courseId) {}
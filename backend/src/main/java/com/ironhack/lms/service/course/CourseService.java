@@ -9,16 +9,24 @@ import com.ironhack.lms.domain.user.User;
 import com.ironhack.lms.repository.course.*;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
 import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.LmsPrincipal;
+import com.ironhack.lms.service.auth.UserDirectory;
+import com.ironhack.lms.service.paging.Cursor;
+import com.ironhack.lms.service.paging.CursorPage;
 import com.ironhack.lms.web.course.dto.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -28,12 +36,41 @@ public class CourseService {
     private final LessonRepository lessons;
     private final AssignmentRepository assignments;
     private final UserRepository users;
+    private final UserDirectory directory;
     private final EnrollmentRepository enrollments;
+    private final CourseCatalogCache catalog;
+    private final ApplicationEventPublisher events;
+
+    // catalog order when the client gives none; ix_course_status_created seeks on status and reads in this order
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
 
     // --- Queries ---
 
     public Page<CourseResponse> listPublished(Pageable p) {
-        return courses.findByStatus(CourseStatus.PUBLISHED, p).map(this::toDto);
+        return catalog.get(withDefaultOrder(p),
+                pageable -> courses.findByStatus(CourseStatus.PUBLISHED, pageable).map(this::toDto));
+    }
+
+    /**
+     * Published page with every description null. Reuses a warm catalog page (descriptions dropped);
+     * otherwise reads only the summary columns and leaves the cache alone, so it never holds partial rows.
+     */
+    public Page<CourseResponse> listPublishedSummaries(Pageable p) {
+        p = withDefaultOrder(p);
+        Page<CourseResponse> cached = catalog.getIfPresent(p);
+        if (cached != null) return cached.map(CourseService::withoutDescription);
+        return courses.findSummariesByStatus(CourseStatus.PUBLISHED, p)
+                .map(c -> new CourseResponse(c.id(), c.instructorId(), c.title(), null, c.status(),
+                        c.createdAt(), c.publishedAt()));
+    }
+
+    /** Keyset variant of {@link #listPublished}: newest first, no count query, stable under inserts. */
+    public CursorPage<CourseResponse> listPublishedAfter(String after, int first) {
+        Cursor c = Cursor.decode(after);
+        List<Course> rows = c == null
+                ? courses.findByStatusOrderByCreatedAtDescIdDesc(CourseStatus.PUBLISHED, CursorPage.fetchSize(first))
+                : courses.findByStatusAfter(CourseStatus.PUBLISHED, c.instant(), c.id(), CursorPage.fetchSize(first));
+        return CursorPage.of(rows, first, x -> Cursor.of(x.getCreatedAt(), x.getId())).map(this::toDto);
     }
 
     public CourseResponse getForRead(Long id, Authentication auth) {
@@ -41,12 +78,10 @@ public class CourseService {
         if (c.getStatus() == CourseStatus.PUBLISHED) return toDto(c);
 
         // allow owner/instructor or admin to see drafts
-        if (auth != null) {
-            User u = users.findByEmail(auth.getName()).orElse(null);
-            if (u != null && (u.getRole() == Role.ADMIN ||
-                    (u.getRole() == Role.INSTRUCTOR && c.getInstructor().getId().equals(u.getId())))) {
-                return toDto(c);
-            }
+        LmsPrincipal u = principal(auth).orElse(null);
+        if (u != null && (u.isAdmin() ||
+                (u.role() == Role.INSTRUCTOR && c.getInstructor().getId().equals(u.id())))) {
+            return toDto(c);
         }
         throw notFound("Course");
     }
@@ -65,6 +100,7 @@ public class CourseService {
         c.setDescription(req.description());
         c.setStatus(CourseStatus.DRAFT);
         c = courses.save(c);
+        events.publishEvent(new CourseChangedEvent(c.getId()));
         return toDto(c);
     }
 
@@ -81,13 +117,16 @@ public class CourseService {
         if (req.status() != CourseStatus.PUBLISHED) {
             c.setPublishedAt(null);
         }
-        return toDto(courses.save(c));
+        c = courses.save(c);
+        events.publishEvent(new CourseChangedEvent(c.getId()));
+        return toDto(c);
     }
 
     public void deleteCourse(Long id, Authentication auth) {
         Course c = courses.findById(id).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
         courses.delete(c);
+        events.publishEvent(new CourseChangedEvent(id));
     }
 
     public Long addLesson(Long courseId, LessonCreateRequest req, Authentication auth) {
@@ -98,7 +137,9 @@ public class CourseService {
         l.setCourse(c);
         l.setTitle(req.title());
         l.setOrderIndex(req.orderIndex());
-        return lessons.save(l).getId();
+        Long id = lessons.save(l).getId();
+        events.publishEvent(new CourseContentChangedEvent(courseId));
+        return id;
     }
 
     public Long addAssignment(Long courseId, AssignmentCreateRequest req, Authentication auth) {
@@ -119,7 +160,9 @@ public class CourseService {
         a.setDueAt(req.dueAt());
         a.setMaxPoints(req.maxPoints());
         a.setAllowLate(req.allowLate());
-        return assignments.save(a).getId();
+        Long id = assignments.save(a).getId();
+        events.publishEvent(new CourseContentChangedEvent(courseId));
+        return id;
     }
 
     public void updateLesson(Long courseId, Long lessonId, LessonUpdateRequest req, Authentication auth) {
@@ -132,6 +175,7 @@ public class CourseService {
         l.setTitle(req.title());
         l.setOrderIndex(req.orderIndex());
         lessons.save(l);
+        events.publishEvent(new CourseContentChangedEvent(courseId));
     }
 
     public void deleteLesson(Long courseId, Long lessonId, Authentication auth) {
@@ -140,6 +184,7 @@ public class CourseService {
         Lesson l = lessons.findById(lessonId).orElseThrow(() -> notFound("Lesson"));
         if (!l.getCourse().getId().equals(courseId)) throw notFound("Lesson");
         lessons.delete(l);
+        events.publishEvent(new CourseContentChangedEvent(courseId));
     }
 
     public void updateAssignment(Long courseId, Long assignmentId, AssignmentUpdateRequest req, Authentication auth) {
@@ -155,6 +200,7 @@ public class CourseService {
         a.setMaxPoints(req.maxPoints());
         a.setAllowLate(req.allowLate());
         assignments.save(a);
+        events.publishEvent(new CourseContentChangedEvent(courseId));
     }
 
     public void deleteAssignment(Long courseId, Long assignmentId, Authentication auth) {
@@ -165,19 +211,32 @@ public class CourseService {
         if (!a.getLesson().getCourse().getId().equals(courseId)) throw notFound("Assignment");
 
         assignments.delete(a);
+        events.publishEvent(new CourseContentChangedEvent(courseId));
     }
 
     // --- helpers ---
 
     private void requireOwnerOrAdmin(Authentication auth, Course c) {
         if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        User u = users.findByEmail(auth.getName())
+        LmsPrincipal u = principal(auth)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
-        boolean ok = u.getRole() == Role.ADMIN ||
-                (u.getRole() == Role.INSTRUCTOR && c.getInstructor().getId().equals(u.getId()));
+        boolean ok = u.isAdmin() ||
+                (u.role() == Role.INSTRUCTOR && c.getInstructor().getId().equals(u.id()));
         if (!ok) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
     }
 
+    private Optional<LmsPrincipal> principal(Authentication auth) {
+        return directory.resolve(auth);
+    }
+
+    private static CourseResponse withoutDescription(CourseResponse c) {
+        return new CourseResponse(c.id(), c.instructorId(), c.title(), null, c.status(), c.createdAt(), c.publishedAt());
+    }
+
+    private static Pageable withDefaultOrder(Pageable p) {
+        return p.isUnpaged() || p.getSort().isSorted() ? p : PageRequest.of(p.getPageNumber(), p.getPageSize(), NEWEST_FIRST);
+    }
+
     private ResponseStatusException notFound(String what) {
         return new ResponseStatusException(HttpStatus.NOT_FOUND, what + " not found");
     }
@@ -229,4 +288,54 @@ public class CourseService {
                     .toList();
         }
     }
+
+    // --- Batch reads (GraphQL) ---
+
+    /** What a batch resolver already knows about a course: enough to decide visibility without reloading it. */
+    public record CourseRef(Long id, Long instructorId, CourseStatus status) {}
+
+    /**
+     * Lessons for a page of courses in one query. Every ref gets an entry; courses the caller
+     * may not see map to an empty list rather than failing the whole batch.
+     */
+    public Map<Long, List<LessonSummaryResponse>> listLessonsForRead(Collection<CourseRef> refs, Authentication auth) {
+        Map<Long, List<LessonSummaryResponse>> out = emptyListsFor(refs);
+        Set<Long> visible = visibleCourseIds(refs, auth);
+        if (visible.isEmpty()) return out;
+        for (Lesson l : lessons.findByCourse_IdInOrderByOrderIndexAsc(visible)) {
+            out.get(l.getCourse().getId())
+                    .add(new LessonSummaryResponse(l.getId(), l.getTitle(), null, l.getOrderIndex()));
+        }
+        return out;
+    }
+
+    /** Assignments for a page of courses in one query; same visibility rules as {@link #listLessonsForRead(Collection, Authentication)}. */
+    public Map<Long, List<AssignmentSummaryResponse>> listAssignmentsForRead(Collection<CourseRef> refs, Authentication auth) {
+        Map<Long, List<AssignmentSummaryResponse>> out = emptyListsFor(refs);
+        Set<Long> visible = visibleCourseIds(refs, auth);
+        if (visible.isEmpty()) return out;
+        for (Assignment a : assignments.findWithLessonByCourseIdIn(visible)) {
+            out.get(a.getLesson().getCourse().getId())
+                    .add(new AssignmentSummaryResponse(a.getId(), a.getTitle(), a.getInstructions(),
+                            a.getMaxPoints(), a.isAllowLate(), a.getDueAt()));
+        }
+        return out;
+    }
+
+    private Set<Long> visibleCourseIds(Collection<CourseRef> refs, Authentication auth) {
+        LmsPrincipal u = principal(auth).orElse(null);   // resolved once for the whole batch
+        Set<Long> visible = new HashSet<>();
+        for (CourseRef r : refs) {
+            boolean ok = r.status() == CourseStatus.PUBLISHED || (u != null && (u.isAdmin() ||
+                    (u.role() == Role.INSTRUCTOR && u.id().equals(r.instructorId()))));
+            if (ok) visible.add(r.id());
+        }
+        return visible;
+    }
+
+    private static <T> Map<Long, List<T>> emptyListsFor(Collection<CourseRef> refs) {
+        Map<Long, List<T>> out = new HashMap<>();
+        for (CourseRef r : refs) out.put(r.id(), new ArrayList<>());
+        return out;
+    }
 }
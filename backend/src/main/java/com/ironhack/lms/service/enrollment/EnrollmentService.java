@@ -5,15 +5,19 @@ import com.ironhack.lms.domain.course.CourseStatus;
 import com.ironhack.lms.domain.enrollment.Enrollment;
 import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
 import com.ironhack.lms.domain.user.Role;
-import com.ironhack.lms.domain.user.Student;
-import com.ironhack.lms.domain.user.User;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
-import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentSummary;
+import com.ironhack.lms.repository.user.StudentRepository;
+import com.ironhack.lms.service.auth.LmsPrincipal;
+import com.ironhack.lms.service.auth.UserDirectory;
+import com.ironhack.lms.service.paging.Cursor;
+import com.ironhack.lms.service.paging.CursorPage;
 import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -26,59 +30,90 @@ public class EnrollmentService {
 
     private final EnrollmentRepository enrollments;
     private final CourseRepository courses;
-    private final UserRepository users;
+    private final StudentRepository students;
+    private final UserDirectory directory;
 
     // --- Queries ---
 
     public Page<EnrollmentResponse> myEnrollments(Authentication auth, Pageable pageable) {
-        Student me = requireStudent(auth);
-        return enrollments.findByStudent_Id(me.getId(), pageable).map(this::toDto);
+        LmsPrincipal me = requireStudent(auth);
+        return enrollments.findByStudent_Id(me.id(), pageable).map(this::toDto);
     }
 
     public Page<Enrollment> myEnrollmentsEntities(Authentication auth, Pageable pageable) {
-        Student me = requireStudent(auth);
-        return enrollments.findByStudent_Id(me.getId(), pageable);
+        LmsPrincipal me = requireStudent(auth);
+        return enrollments.findByStudent_Id(me.id(), pageable);
+    }
+
+    /** Count-free variants for infinite-scroll clients. */
+    public Slice<EnrollmentResponse> myEnrollmentsSlice(Authentication auth, Pageable pageable) {
+        return myEnrollmentsEntitiesSlice(auth, pageable).map(this::toDto);
+    }
+
+    public Slice<Enrollment> myEnrollmentsEntitiesSlice(Authentication auth, Pageable pageable) {
+        LmsPrincipal me = requireStudent(auth);
+        return enrollments.findSliceByStudent_Id(me.id(), pageable);
+    }
+
+    /** Course fields without the description, for GraphQL lists that don't select it. */
+    public Slice<EnrollmentSummary> myEnrollmentSummaries(Authentication auth, Pageable pageable, boolean withTotal) {
+        LmsPrincipal me = requireStudent(auth);
+        return withTotal
+                ? enrollments.findSummariesByStudent_Id(me.id(), pageable)
+                : enrollments.findSummarySliceByStudent_Id(me.id(), pageable);
+    }
+
+    public CursorPage<EnrollmentResponse> myEnrollmentsAfter(Authentication auth, String after, int first) {
+        return myEnrollmentsEntitiesAfter(auth, after, first).map(this::toDto);
+    }
+
+    public CursorPage<Enrollment> myEnrollmentsEntitiesAfter(Authentication auth, String after, int first) {
+        LmsPrincipal me = requireStudent(auth);
+        Cursor c = Cursor.decode(after);
+        var rows = c == null
+                ? enrollments.findByStudent_IdOrderByEnrolledAtDescIdDesc(me.id(), CursorPage.fetchSize(first))
+                : enrollments.findByStudentAfter(me.id(), c.instant(), c.id(), CursorPage.fetchSize(first));
+        return CursorPage.of(rows, first, e -> Cursor.of(e.getEnrolledAt(), e.getId()));
     }
 
     // --- Commands ---
 
     public EnrollmentResponse enroll(Long courseId, Authentication auth) {
-        Student me = requireStudent(auth);
+        LmsPrincipal me = requireStudent(auth);
         Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
 
         if (c.getStatus() != CourseStatus.PUBLISHED) {
             // hide drafts: as a student you cannot enroll into non-published courses
             throw notFound("Course");
         }
-        if (enrollments.existsByCourse_IdAndStudent_Id(courseId, me.getId())) {
+        if (enrollments.existsByCourse_IdAndStudent_Id(courseId, me.id())) {
             throw new GraphQLException.AlreadyEnrolledException("Already enrolled in this course");
         }
 
         Enrollment e = new Enrollment();
         e.setCourse(c);
-        e.setStudent(me);
+        e.setStudent(students.getReferenceById(me.id()));
         e = enrollments.save(e);
         return toDto(e);
     }
 
     public EnrollmentResponse cancel(Long enrollmentId, Authentication auth) {
-        Student me = requireStudent(auth);
-        Enrollment e = enrollments.findByIdAndStudent_Id(enrollmentId, me.getId())
+        LmsPrincipal me = requireStudent(auth);
+        Enrollment e = enrollments.findByIdAndStudent_Id(enrollmentId, me.id())
                 .orElseThrow(() -> notFound("Enrollment"));
         e.setStatus(EnrollmentStatus.CANCELLED);
         return toDto(enrollments.save(e));
     }
 
     public EnrollmentResponse completeByStaff(Long enrollmentId, Authentication auth) {
-        var staff = users.findByEmail(auth.getName())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        LmsPrincipal staff = requireAuth(auth);
 
         var e = enrollments.findById(enrollmentId)
                 .orElseThrow(() -> notFound("Enrollment"));
 
-        boolean isAdmin = staff.getRole() == Role.ADMIN;
-        boolean isOwnerInstructor = staff.getRole() == Role.INSTRUCTOR
-                && e.getCourse().getInstructor().getId().equals(staff.getId());
+        boolean isAdmin = staff.isAdmin();
+        boolean isOwnerInstructor = staff.role() == Role.INSTRUCTOR
+                && e.getCourse().getInstructor().getId().equals(staff.id());
 
         if (!isAdmin && !isOwnerInstructor) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
@@ -90,14 +125,18 @@ public class EnrollmentService {
 
     // --- helpers ---
 
-    private Student requireStudent(Authentication auth) {
-        if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        User u = users.findByEmail(auth.getName())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
-        if (u.getRole() != Role.STUDENT || !(u instanceof Student s)) {
+    private LmsPrincipal requireStudent(Authentication auth) {
+        LmsPrincipal u = requireAuth(auth);
+        if (u.role() != Role.STUDENT) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only students can enroll");
         }
-        return s;
+        return u;
+    }
+
+    private LmsPrincipal requireAuth(Authentication auth) {
+        if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        return directory.resolve(auth)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
     }
 
     private ResponseStatusException notFound(String what) {
@@ -2,12 +2,16 @@ package com.ironhack.lms.service.item;
 
 import com.ironhack.lms.service.content.HtmlSanitizer;
 import com.ironhack.lms.service.content.MarkdownService;
+import com.ironhack.lms.service.auth.LmsPrincipal;
+import com.ironhack.lms.service.auth.UserDirectory;
+import com.ironhack.lms.service.paging.Cursor;
+import com.ironhack.lms.service.paging.CursorPage;
 import com.ironhack.lms.domain.course.Lesson;
 import com.ironhack.lms.domain.course.Course;
 import com.ironhack.lms.domain.item.Item;
-import com.ironhack.lms.domain.user.Instructor;
 import com.ironhack.lms.repository.course.LessonRepository;
 import com.ironhack.lms.repository.item.ItemRepository;
+import com.ironhack.lms.repository.item.ItemSummary;
 import com.ironhack.lms.web.item.dto.ItemCreateRequest;
 import com.ironhack.lms.web.item.dto.ItemListResponse;
 import com.ironhack.lms.web.item.dto.ItemResponse;
@@ -15,15 +19,26 @@ import com.ironhack.lms.web.item.dto.ItemUpdateRequest;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +48,7 @@ public class ItemService {
     private final LessonRepository lessons;
     private final MarkdownService md;
     private final HtmlSanitizer sanitizer;
+    private final UserDirectory directory;
 
     // ---------- entity-oriented methods used by GraphQL ----------
 
@@ -86,7 +102,80 @@ public class ItemService {
     @Transactional(readOnly = true)
     public Page<Item> searchEntities(String search, Pageable pageable) {
         Specification<Item> spec = ItemSpecifications.titleOrTagContains(search);
-        return items.findAll(spec, pageable);
+        // phase 1 pages over ids in SQL, phase 2 loads just that page with its relations
+        Page<Long> ids = items.findIdPage(spec, withIdTiebreak(pageable));
+        return new PageImpl<>(loadInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Item> searchEntitiesSlice(String search, Pageable pageable) {
+        Specification<Item> spec = ItemSpecifications.titleOrTagContains(search);
+        Slice<Long> ids = items.findIdSlice(spec, withIdTiebreak(pageable));
+        return new SliceImpl<>(loadInOrder(ids.getContent()), pageable, ids.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Item> searchEntitiesAfter(String search, String after, int first) {
+        Cursor c = Cursor.decode(after);
+        Specification<Item> spec = ItemSpecifications.titleOrTagContains(search)
+                .and(ItemSpecifications.updatedBefore(c));
+        int limit = CursorPage.fetchSize(first).getPageSize();
+        List<Long> ids = items.findIds(spec, Sort.by(Sort.Direction.DESC, "updatedAt", "id"), limit);
+        return CursorPage.of(loadInOrder(ids), first, i -> Cursor.of(i.getUpdatedAt(), i.getId()));
+    }
+
+    /**
+     * Search for list views that don't select the body: same id phase, then a column projection
+     * instead of entities, so body_markdown is never read. Tags cost one extra query when asked for.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ItemSummary> searchSummaries(String search, Pageable pageable, boolean withTotal, boolean withTags) {
+        Specification<Item> spec = ItemSpecifications.titleOrTagContains(search);
+        Pageable sorted = withIdTiebreak(pageable);
+        if (withTotal) {
+            Page<Long> ids = items.findIdPage(spec, sorted);
+            return new PageImpl<>(loadSummariesInOrder(ids.getContent(), withTags), pageable, ids.getTotalElements());
+        }
+        Slice<Long> ids = items.findIdSlice(spec, sorted);
+        return new SliceImpl<>(loadSummariesInOrder(ids.getContent(), withTags), pageable, ids.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ItemSummary> searchSummariesAfter(String search, String after, int first, boolean withTags) {
+        Cursor c = Cursor.decode(after);
+        Specification<Item> spec = ItemSpecifications.titleOrTagContains(search)
+                .and(ItemSpecifications.updatedBefore(c));
+        int limit = CursorPage.fetchSize(first).getPageSize();
+        List<Long> ids = items.findIds(spec, Sort.by(Sort.Direction.DESC, "updatedAt", "id"), limit);
+        return CursorPage.of(loadSummariesInOrder(ids, withTags), first, i -> Cursor.of(i.updatedAt(), i.id()));
+    }
+
+    private List<ItemSummary> loadSummariesInOrder(List<Long> ids, boolean withTags) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, ItemSummary> byId = items.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemSummary::id, Function.identity()));
+        if (withTags) {
+            Map<Long, Set<String>> tags = new HashMap<>();
+            for (Object[] row : items.findTagsByItemIdIn(ids)) {
+                tags.computeIfAbsent((Long) row[0], k -> new LinkedHashSet<>()).add((String) row[1]);
+            }
+            byId.replaceAll((id, s) -> s.withTags(tags.getOrDefault(id, Set.of())));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<Item> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Item> byId = items.findAllWithRelationsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // id as the last sort key keeps offset pages stable when updatedAt ties
+    private static Pageable withIdTiebreak(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().getOrderFor("id") != null) return pageable;
+        Sort sort = pageable.getSort().and(Sort.by(Sort.Direction.DESC, "id"));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
     }
 
     // ---------- REST-oriented methods (DTO in/out) ----------
@@ -141,8 +230,17 @@ public class ItemService {
 
     @Transactional(readOnly = true)
     public Page<ItemListResponse> search(String search, Pageable pageable) {
-        Specification<Item> spec = ItemSpecifications.titleOrTagContains(search);
-        return items.findAll(spec, pageable).map(this::toListResponse);
+        return searchEntities(search, pageable).map(this::toListResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ItemListResponse> searchSlice(String search, Pageable pageable) {
+        return searchEntitiesSlice(search, pageable).map(this::toListResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ItemListResponse> searchAfter(String search, String after, int first) {
+        return searchEntitiesAfter(search, after, first).map(this::toListResponse);
     }
 
     // ---------- mappers ----------
@@ -177,9 +275,8 @@ public class ItemService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Lesson not found"));
         
         Course course = lesson.getCourse();
-        Instructor instructor = course.getInstructor();
         
-        if (!instructor.getEmail().equals(instructorEmail)) {
+        if (!ownsCourse(course, instructorEmail)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only modify items in your own courses");
         }
     }
@@ -190,10 +287,15 @@ public class ItemService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found"));
         
         Course course = item.getLesson().getCourse();
-        Instructor instructor = course.getInstructor();
         
-        if (!instructor.getEmail().equals(instructorEmail)) {
+        if (!ownsCourse(course, instructorEmail)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only modify items in your own courses");
         }
     }
+
+    // compares ids so the instructor proxy is never initialized
+    private boolean ownsCourse(Course course, String instructorEmail) {
+        Long me = directory.principal(instructorEmail).map(LmsPrincipal::id).orElse(null);
+        return me != null && me.equals(course.getInstructor().getId());
+    }
 }
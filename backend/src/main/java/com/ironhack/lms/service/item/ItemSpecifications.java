@@ -2,21 +2,43 @@
 package com.ironhack.lms.service.item;
 
 import com.ironhack.lms.domain.item.Item;
-import jakarta.persistence.criteria.JoinType;
+import com.ironhack.lms.service.paging.Cursor;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
+
 public final class ItemSpecifications {
     private ItemSpecifications() {}
 
     public static Specification<Item> titleOrTagContains(String q) {
         return (root, query, cb) -> {
             if (q == null || q.isBlank()) return cb.conjunction();
-            query.distinct(true);
             String like = "%" + q.toLowerCase() + "%";
             var titleLike = cb.like(cb.lower(root.get("title")), like);
-            var tagJoin   = root.joinSet("tags", JoinType.LEFT);
-            var tagLike   = cb.like(cb.lower(tagJoin.as(String.class)), like);
-            return cb.or(titleLike, tagLike);
+            // EXISTS instead of joining tags: one row per item, so no DISTINCT and paging stays in SQL
+            Subquery<Integer> tagMatch = query.subquery(Integer.class);
+            Root<Item> correlated = tagMatch.correlate(root);
+            Join<Item, String> tag = correlated.joinSet("tags");
+            tagMatch.select(cb.literal(1)).where(cb.like(cb.lower(tag), like));
+            return cb.or(titleLike, cb.exists(tagMatch));
+        };
+    }
+
+    /** Rows strictly after the cursor in (updatedAt desc, id desc) order; no-op for the first page. */
+    public static Specification<Item> updatedBefore(Cursor after) {
+        return (root, query, cb) -> {
+            if (after == null) return cb.conjunction();
+            LocalDateTime updatedAt = after.localDateTime();
+            // the redundant <= bound gives the planner a range on ix_items_updated; the OR alone does not
+            return cb.and(
+                    cb.lessThanOrEqualTo(root.get("updatedAt"), updatedAt),
+                    cb.or(
+                            cb.lessThan(root.get("updatedAt"), updatedAt),
+                            cb.and(cb.equal(root.get("updatedAt"), updatedAt), cb.lessThan(root.get("id"), after.id()))
+                    ));
         };
     }
 }
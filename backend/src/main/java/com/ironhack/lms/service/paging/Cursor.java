@@ -0,0 +1,57 @@
+package com.ironhack.lms.service.paging;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort key and id of the last row a client has seen.
+ * Listings order by (sortKey desc, id desc), so the next page is everything strictly "before" it.
+ */
+public record Cursor(String sortKey, long id) {
+
+    public static Cursor of(Instant sortKey, Long id) {
+        return new Cursor(sortKey.toString(), id);
+    }
+
+    public static Cursor of(LocalDateTime sortKey, Long id) {
+        return new Cursor(sortKey.toString(), id);
+    }
+
+    /** Null/blank means "first page". Anything we didn't issue is a 400. */
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(raw.substring(0, sep), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortKey + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant instant() {
+        try {
+            return Instant.parse(sortKey);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public LocalDateTime localDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
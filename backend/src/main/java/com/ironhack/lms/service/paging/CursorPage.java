@@ -0,0 +1,46 @@
+package com.ironhack.lms.service.paging;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page. No totals: counting is exactly what keyset paging avoids.
+ * {@code cursors} holds one cursor per row (GraphQL edges); REST clients only need {@code nextCursor}.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        @JsonIgnore List<String> cursors,
+        String nextCursor,
+        boolean hasNext
+) {
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 100;
+
+    /** Fetch one extra row so hasNext needs no count query. */
+    public static Pageable fetchSize(int first) {
+        return PageRequest.ofSize(clamp(first) + 1);
+    }
+
+    /** {@code rows} must come from a query limited by {@link #fetchSize(int)}. */
+    public static <E> CursorPage<E> of(List<E> rows, int first, Function<E, Cursor> cursorOf) {
+        int size = clamp(first);
+        boolean hasNext = rows.size() > size;
+        List<E> content = hasNext ? rows.subList(0, size) : rows;
+        List<String> cursors = content.stream().map(e -> cursorOf.apply(e).encode()).toList();
+        String next = hasNext ? cursors.get(cursors.size() - 1) : null;
+        return new CursorPage<>(List.copyOf(content), cursors, next, hasNext);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, cursors, nextCursor, hasNext);
+    }
+
+    private static int clamp(int first) {
+        return Math.max(1, Math.min(first, MAX_SIZE));
+    }
+}
@@ -0,0 +1,30 @@
+package com.ironhack.lms.service.submission;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+
+public enum GradebookFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    private final MediaType mediaType;
+
+    GradebookFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static GradebookFormat parse(String value) {
+        for (GradebookFormat f : values()) {
+            if (f.name().equalsIgnoreCase(value)) return f;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+    }
+}
@@ -0,0 +1,173 @@
+package com.ironhack.lms.service.submission;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+import com.ironhack.lms.repository.course.GradebookColumn;
+import com.ironhack.lms.repository.submission.GradebookCell;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pivots cells ordered by student into one output row per student. A row is written as soon as the
+ * next student starts, so only the current row is held in memory.
+ */
+abstract class GradebookWriter {
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    final List<GradebookColumn> columns;
+    private final Map<Long, Integer> columnIndex = new HashMap<>();
+
+    Long studentId;
+    String email;
+    String fullName;
+    final Integer[] scores;
+    final SubmissionStatus[] statuses;
+    private int rows;
+
+    GradebookWriter(List<GradebookColumn> columns) {
+        this.columns = columns;
+        for (int i = 0; i < columns.size(); i++) columnIndex.put(columns.get(i).assignmentId(), i);
+        this.scores = new Integer[columns.size()];
+        this.statuses = new SubmissionStatus[columns.size()];
+    }
+
+    static GradebookWriter of(GradebookFormat format, List<GradebookColumn> columns, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new Ndjson(columns, out);
+            case CSV -> new Csv(columns, out);
+        };
+    }
+
+    void accept(GradebookCell cell) throws IOException {
+        if (!cell.studentId().equals(studentId)) {
+            if (studentId != null) emitRow();
+            studentId = cell.studentId();
+            email = cell.email();
+            fullName = cell.fullName();
+            Arrays.fill(scores, null);
+            Arrays.fill(statuses, null);
+        }
+        // columns are read before the cells; an assignment added in between is left out
+        Integer i = cell.assignmentId() == null ? null : columnIndex.get(cell.assignmentId());
+        if (i != null) {
+            scores[i] = cell.score();
+            statuses[i] = cell.status();
+        }
+    }
+
+    /** Writes the last row and flushes; returns the number of student rows written. */
+    int finish() throws IOException {
+        if (studentId != null) emitRow();
+        flush();
+        return rows;
+    }
+
+    private void emitRow() throws IOException {
+        writeRow();
+        rows++;
+    }
+
+    abstract void writeRow() throws IOException;
+
+    abstract void flush() throws IOException;
+
+    /** One JSON object per student and line; each grade names its assignment. */
+    static final class Ndjson extends GradebookWriter {
+
+        private final JsonGenerator json;
+
+        Ndjson(List<GradebookColumn> columns, OutputStream out) throws IOException {
+            super(columns);
+            this.json = JSON.createGenerator(out);
+            this.json.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        void writeRow() throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("studentId", studentId);
+            json.writeStringField("email", email);
+            json.writeStringField("fullName", fullName);
+            json.writeArrayFieldStart("grades");
+            for (int i = 0; i < columns.size(); i++) {
+                json.writeStartObject();
+                json.writeNumberField("assignmentId", columns.get(i).assignmentId());
+                json.writeFieldName("score");
+                if (scores[i] == null) json.writeNull(); else json.writeNumber(scores[i]);
+                json.writeStringField("status", statuses[i] == null ? null : statuses[i].name());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+
+        @Override
+        void flush() throws IOException {
+            if (studentId != null) json.writeRaw('\n');
+            json.flush();
+        }
+    }
+
+    /** Header row of assignment titles, then one score per cell; blank when not graded. */
+    static final class Csv extends GradebookWriter {
+
+        private final Writer out;
+
+        Csv(List<GradebookColumn> columns, OutputStream out) throws IOException {
+            super(columns);
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.out.write("student_id,email,full_name");
+            for (GradebookColumn c : columns) {
+                this.out.write(',');
+                this.out.write(escape(c.title() + " (/" + c.maxPoints() + ")"));
+            }
+            this.out.write("\r\n");
+        }
+
+        @Override
+        void writeRow() throws IOException {
+            out.write(String.valueOf(studentId));
+            out.write(',');
+            out.write(escape(email));
+            out.write(',');
+            out.write(escape(fullName));
+            for (Integer score : scores) {
+                out.write(',');
+                if (score != null) out.write(score.toString());
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        static String escape(String value) {
+            if (value == null) return "";
+            // names and titles are user input; a leading =, +, -, @ (or tab/CR) runs as a formula in spreadsheets
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                return "\"'" + value.replace("\"", "\"\"") + '"';
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
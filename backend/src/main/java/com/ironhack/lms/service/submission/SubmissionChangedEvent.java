@@ -0,0 +1,9 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.web.submission.dto.SubmissionResponse;
+
+/** Published after a submission is created/resubmitted, graded or sent back; feeds the subscription bus. */
+public record SubmissionChangedEvent(Kind kind, SubmissionResponse submission) {
+
+    public enum Kind { SUBMITTED, GRADED, RESUBMIT_REQUESTED }
+}
@@ -0,0 +1,53 @@
+package com.ironhack.lms.service.submission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.function.Predicate;
+
+/**
+ * In-process fan-out of committed submission changes to GraphQL subscribers.
+ * Each subscriber gets its own bounded buffer: a slow client loses its oldest events
+ * instead of holding memory or slowing down everyone else.
+ */
+@Component
+public class SubmissionEventBus {
+
+    private final Sinks.Many<SubmissionChangedEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final Counter dropped;
+
+    public SubmissionEventBus(MeterRegistry meterRegistry,
+                              @Value("${app.submissions.events.buffer-size:256}") int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.dropped = Counter.builder("lms.submissions.events.dropped")
+                .description("Submission events dropped because a subscriber fell behind")
+                .register(meterRegistry);
+        Gauge.builder("lms.submissions.events.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("Open submission subscriptions")
+                .register(meterRegistry);
+    }
+
+    // after commit, so subscribers never see a change that rolls back
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSubmissionChanged(SubmissionChangedEvent event) {
+        sink.tryEmitNext(event); // nobody listening is not an error
+    }
+
+    /**
+     * Events committed from now on that match {@code filter}. The filter runs before the buffer,
+     * so other subscribers' events never take up this subscriber's slots.
+     */
+    public Flux<SubmissionChangedEvent> stream(Predicate<SubmissionChangedEvent> filter) {
+        return sink.asFlux()
+                .filter(filter)
+                .onBackpressureBuffer(bufferSize, e -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
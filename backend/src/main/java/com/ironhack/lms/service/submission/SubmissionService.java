@@ -5,23 +5,44 @@ import com.ironhack.lms.domain.course.Course;
 import com.ironhack.lms.domain.course.CourseStatus;
 import com.ironhack.lms.domain.submission.Submission;
 import com.ironhack.lms.domain.submission.SubmissionStatus;
-import com.ironhack.lms.domain.user.*;
+import com.ironhack.lms.domain.user.Role;
 import com.ironhack.lms.repository.course.AssignmentRepository;
 import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.course.GradebookColumn;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.submission.GradebookCell;
 import com.ironhack.lms.repository.submission.SubmissionRepository;
-import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.repository.submission.SubmissionRow;
+import com.ironhack.lms.repository.user.StudentRepository;
+import com.ironhack.lms.service.auth.LmsPrincipal;
+import com.ironhack.lms.service.auth.UserDirectory;
+import com.ironhack.lms.service.paging.Cursor;
+import com.ironhack.lms.service.paging.CursorPage;
 import com.ironhack.lms.web.submission.dto.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Transactional(readOnly = true)
 @Service
@@ -31,14 +52,17 @@ public class SubmissionService {
     private final SubmissionRepository submissions;
     private final AssignmentRepository assignments;
     private final EnrollmentRepository enrollments;
-    private final UserRepository users;
     private final CourseRepository courses;
+    private final StudentRepository students;
+    private final UserDirectory directory;
+    private final ApplicationEventPublisher events;
+    private final SubmissionEventBus bus;
 
     // ----- Student actions -----
 
     @Transactional
     public SubmissionResponse submit(Long assignmentId, SubmissionCreateRequest req, Authentication auth) {
-        Student me = requireStudent(auth);
+        LmsPrincipal me = requireStudent(auth);
 
         Assignment a = assignments.findById(assignmentId)
                 .orElseThrow(() -> notFound("Assignment"));
@@ -51,7 +75,7 @@ public class SubmissionService {
             throw notFound("Assignment");
         }
         // Must be enrolled & active
-        boolean enrolled = enrollments.existsByCourse_IdAndStudent_Id(c.getId(), me.getId());
+        boolean enrolled = enrollments.existsByCourse_IdAndStudent_Id(c.getId(), me.id());
         if (!enrolled) throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not enrolled in this course");
 
         // Due date + late policy
@@ -59,11 +83,12 @@ public class SubmissionService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assignment is past due and late submissions are disabled");
         }
 
-        Submission s = submissions.findByAssignment_IdAndStudent_Id(assignmentId, me.getId())
+        Submission s = submissions.findByAssignment_IdAndStudent_Id(assignmentId, me.id())
                 .orElseGet(Submission::new);
 
         s.setAssignment(a);
-        s.setStudent(me);
+        s.setCourse(c);
+        s.setStudent(students.getReferenceById(me.id()));
         s.setArtifactUrl(req.artifactUrl());
         s.setSubmittedAt(Instant.now());
         s.setStatus(SubmissionStatus.SUBMITTED);
@@ -72,28 +97,86 @@ public class SubmissionService {
         s.setVersion(s.getId() == null ? 1 : s.getVersion() + 1);
 
         s = submissions.save(s);
-        return toDto(s);
+        return publish(SubmissionChangedEvent.Kind.SUBMITTED, toDto(s));
     }
 
     public Page<SubmissionResponse> mySubmissions(Authentication auth, Pageable pageable) {
-        Student me = requireStudent(auth);
-        return submissions.findByStudent_Id(me.getId(), pageable).map(this::toDto);
+        LmsPrincipal me = requireStudent(auth);
+        return submissions.findRowsByStudentId(me.id(), pageable).map(SubmissionService::toDto);
+    }
+
+    /** Count-free variant of {@link #mySubmissions} for infinite-scroll clients. */
+    public Slice<SubmissionResponse> mySubmissionsSlice(Authentication auth, Pageable pageable) {
+        LmsPrincipal me = requireStudent(auth);
+        return submissions.findRowSliceByStudentId(me.id(), pageable).map(SubmissionService::toDto);
+    }
+
+    public CursorPage<SubmissionResponse> mySubmissionsAfter(Authentication auth, String after, int first) {
+        LmsPrincipal me = requireStudent(auth);
+        Cursor c = Cursor.decode(after);
+        var rows = c == null
+                ? submissions.findRowsByStudentFirst(me.id(), CursorPage.fetchSize(first))
+                : submissions.findRowsByStudentAfter(me.id(), c.instant(), c.id(), CursorPage.fetchSize(first));
+        return CursorPage.of(rows, first, SubmissionService::cursorOf).map(SubmissionService::toDto);
     }
 
     // ----- Instructor/Admin actions -----
 
     public Page<SubmissionResponse> listByCourse(Long courseId, Authentication auth, Pageable pageable) {
-        User who = requireAuth(auth);
+        LmsPrincipal who = requireAuth(auth);
         if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
-        // path goes through assignment -> lesson -> course
-        return submissions.findByAssignment_Lesson_Course_Id(courseId, pageable).map(this::toDto);
+        return submissions.findRowsByCourseId(courseId, pageable).map(SubmissionService::toDto);
+    }
+
+    public Slice<SubmissionResponse> listByCourseSlice(Long courseId, Authentication auth, Pageable pageable) {
+        LmsPrincipal who = requireAuth(auth);
+        if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        return submissions.findRowSliceByCourseId(courseId, pageable).map(SubmissionService::toDto);
+    }
+
+    public CursorPage<SubmissionResponse> listByCourseAfter(Long courseId, Authentication auth, String after, int first) {
+        LmsPrincipal who = requireAuth(auth);
+        if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        Cursor c = Cursor.decode(after);
+        var rows = c == null
+                ? submissions.findRowsByCourseFirst(courseId, CursorPage.fetchSize(first))
+                : submissions.findRowsByCourseAfter(courseId, c.instant(), c.id(), CursorPage.fetchSize(first));
+        return CursorPage.of(rows, first, SubmissionService::cursorOf).map(SubmissionService::toDto);
+    }
+
+    // ----- Gradebook -----
+
+    /** Checks access and returns the columns; call before the response is committed so errors keep their status. */
+    public List<GradebookColumn> gradebookColumns(Long courseId, Authentication auth) {
+        LmsPrincipal who = requireAuth(auth);
+        if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        return assignments.findGradebookColumns(courseId);
+    }
+
+    /**
+     * Streams the student-by-assignment matrix from one forward-only query; memory is one row
+     * regardless of course size. Returns the number of student rows written.
+     */
+    public int writeGradebook(Long courseId, List<GradebookColumn> columns, GradebookFormat format, OutputStream out)
+            throws IOException {
+        GradebookWriter writer = GradebookWriter.of(format, columns, out);
+        try (Stream<GradebookCell> cells = submissions.streamGradebook(courseId)) {
+            for (Iterator<GradebookCell> it = cells.iterator(); it.hasNext(); ) {
+                writer.accept(it.next());
+            }
+        }
+        return writer.finish();
+    }
+
+    private static Cursor cursorOf(SubmissionRow s) {
+        return Cursor.of(s.submittedAt(), s.id());
     }
 
     @Transactional
     public SubmissionResponse grade(Long submissionId, GradeRequest req, Authentication auth) {
-        User who = requireAuth(auth);
+        LmsPrincipal who = requireAuth(auth);
         Submission s = submissions.findById(submissionId).orElseThrow(() -> notFound("Submission"));
-        if (!canAccessCourseSubmissions(who, s.getAssignment().getLesson().getCourse().getId()))
+        if (!canAccessCourseSubmissions(who, s.getCourse().getId()))
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
 
         int max = s.getAssignment().getMaxPoints();
@@ -104,53 +187,136 @@ public class SubmissionService {
         s.setFeedback(req.feedback());
         s.setStatus(SubmissionStatus.GRADED);
         s = submissions.save(s);
-        return toDto(s);
+        return publish(SubmissionChangedEvent.Kind.GRADED, toDto(s));
+    }
+
+    static final int MAX_BULK_GRADES = 500;
+
+    /**
+     * Grades many submissions of one course: one authorization check, one read for all rows,
+     * and the UPDATEs go out as JDBC batches at commit. Bad items are reported, not thrown,
+     * so the rest of the cohort still gets graded.
+     */
+    @Transactional
+    public BulkGradeResponse gradeMany(Long courseId, List<BulkGradeItem> grades, Authentication auth) {
+        LmsPrincipal who = requireAuth(auth);
+        if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        if (grades.size() > MAX_BULK_GRADES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BULK_GRADES + " grades per request");
+        }
+
+        Set<Long> ids = grades.stream().map(BulkGradeItem::submissionId).collect(Collectors.toSet());
+        Map<Long, Submission> byId = submissions.findForGrading(courseId, ids).stream()
+                .collect(Collectors.toMap(Submission::getId, Function.identity()));
+
+        Set<Long> seen = new HashSet<>();
+        List<BulkGradeResponse.Result> results = new ArrayList<>(grades.size());
+        int graded = 0;
+        for (BulkGradeItem g : grades) {
+            Submission s = byId.get(g.submissionId());
+            BulkGradeResponse.Result result;
+            if (!seen.add(g.submissionId())) {
+                result = rejected(g, BulkGradeResponse.Outcome.DUPLICATE, "Submission appears more than once");
+            } else if (s == null) {
+                result = rejected(g, BulkGradeResponse.Outcome.NOT_FOUND, "Submission not found");
+            } else if (g.score() == null || g.score() < 0 || g.score() > s.getAssignment().getMaxPoints()) {
+                result = rejected(g, BulkGradeResponse.Outcome.INVALID_SCORE,
+                        "Score must be between 0 and " + s.getAssignment().getMaxPoints());
+            } else {
+                s.setScore(g.score());
+                s.setFeedback(g.feedback());
+                s.setStatus(SubmissionStatus.GRADED);
+                SubmissionResponse dto = publish(SubmissionChangedEvent.Kind.GRADED, toDto(s, courseId));
+                result = new BulkGradeResponse.Result(s.getId(), BulkGradeResponse.Outcome.GRADED, null, dto);
+                graded++;
+            }
+            results.add(result);
+        }
+        // managed entities: dirty checking writes them at commit, batched by hibernate.jdbc.batch_size
+        return new BulkGradeResponse(graded, grades.size() - graded, results);
+    }
+
+    private static BulkGradeResponse.Result rejected(BulkGradeItem g, BulkGradeResponse.Outcome outcome, String error) {
+        return new BulkGradeResponse.Result(g.submissionId(), outcome, error, null);
     }
 
     @Transactional
     public SubmissionResponse requestResubmission(Long submissionId, ResubmitRequest req, Authentication auth) {
-        User who = requireAuth(auth);
+        LmsPrincipal who = requireAuth(auth);
         Submission s = submissions.findById(submissionId).orElseThrow(() -> notFound("Submission"));
-        if (!canAccessCourseSubmissions(who, s.getAssignment().getLesson().getCourse().getId()))
+        if (!canAccessCourseSubmissions(who, s.getCourse().getId()))
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
 
         s.setStatus(SubmissionStatus.RESUBMIT_REQUESTED);
         s.setFeedback(req.feedback());
         s = submissions.save(s);
-        return toDto(s);
+        return publish(SubmissionChangedEvent.Kind.RESUBMIT_REQUESTED, toDto(s));
+    }
+
+    // ----- Subscriptions -----
+
+    /** New and re-submitted work in a course, as it commits; same access rule as {@link #listByCourse}. */
+    public Flux<SubmissionResponse> submissionsCreated(Long courseId, Authentication auth) {
+        LmsPrincipal who = requireAuth(auth);
+        if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        return bus.stream(e -> e.kind() == SubmissionChangedEvent.Kind.SUBMITTED
+                        && courseId.equals(e.submission().courseId()))
+                .map(SubmissionChangedEvent::submission);
+    }
+
+    /** Grades and resubmission requests on the caller's own submissions. */
+    public Flux<SubmissionResponse> mySubmissionsReviewed(Authentication auth) {
+        LmsPrincipal me = requireStudent(auth);
+        return bus.stream(e -> e.kind() != SubmissionChangedEvent.Kind.SUBMITTED
+                        && me.id().equals(e.submission().studentId()))
+                .map(SubmissionChangedEvent::submission);
     }
 
     // ----- helpers -----
 
-    private Student requireStudent(Authentication auth) {
-        User u = requireAuth(auth);
-        if (u.getRole() != Role.STUDENT || !(u instanceof Student s)) {
+    private SubmissionResponse publish(SubmissionChangedEvent.Kind kind, SubmissionResponse dto) {
+        events.publishEvent(new SubmissionChangedEvent(kind, dto));
+        return dto;
+    }
+
+    private LmsPrincipal requireStudent(Authentication auth) {
+        LmsPrincipal u = requireAuth(auth);
+        if (u.role() != Role.STUDENT) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only students can submit");
         }
-        return s;
+        return u;
     }
 
-    private User requireAuth(Authentication auth) {
+    private LmsPrincipal requireAuth(Authentication auth) {
         if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        return users.findByEmail(auth.getName())
+        return directory.resolve(auth)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
     }
 
-    private boolean canAccessCourseSubmissions(User who, Long courseId) {
-        return who.getRole() == Role.ADMIN ||
-                (who.getRole() == Role.INSTRUCTOR &&
-                        courses.existsByIdAndInstructor_Id(courseId, who.getId()));
+    private boolean canAccessCourseSubmissions(LmsPrincipal who, Long courseId) {
+        return who.isAdmin() ||
+                (who.role() == Role.INSTRUCTOR &&
+                        courses.existsByIdAndInstructor_Id(courseId, who.id()));
     }
 
     private ResponseStatusException notFound(String what) {
         return new ResponseStatusException(HttpStatus.NOT_FOUND, what + " not found");
     }
 
+    private static SubmissionResponse toDto(SubmissionRow r) {
+        return new SubmissionResponse(r.id(), r.assignmentId(), r.courseId(), r.studentId(), r.submittedAt(),
+                r.artifactUrl(), r.status(), r.score(), r.feedback(), r.version());
+    }
+
     private SubmissionResponse toDto(Submission s) {
+        return toDto(s, s.getCourse().getId());
+    }
+
+    private static SubmissionResponse toDto(Submission s, Long courseId) {
         return new SubmissionResponse(
                 s.getId(),
                 s.getAssignment().getId(),
-                s.getAssignment().getLesson().getCourse().getId(),
+                courseId,
                 s.getStudent().getId(),
                 s.getSubmittedAt(),
                 s.getArtifactUrl(),
@@ -1,8 +1,11 @@
 package com.ironhack.lms.web;
 
+import com.ironhack.lms.service.auth.PasswordHashingBusyException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
@@ -96,6 +99,15 @@ public class ErrorHandler {
         return ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, "Forbidden");
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ProblemDetail> handleHashingBusy(PasswordHashingBusyException ex) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        pd.setType(URI.create("about:overloaded"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(pd);
+    }
+
     @ExceptionHandler(ResponseStatusException.class)
     public ProblemDetail handleResponseStatus(ResponseStatusException ex) {
         // Preserve the status set by your service/controller (e.g., FORBIDDEN, NOT_FOUND, CONFLICT)
@@ -4,6 +4,7 @@ import com.ironhack.lms.service.auth.LoginService;
 import com.ironhack.lms.service.auth.RegistrationService;
 import com.ironhack.lms.web.auth.dto.LoginRequest;
 import com.ironhack.lms.web.auth.dto.LoginResponse;
+import com.ironhack.lms.web.auth.dto.RefreshRequest;
 import com.ironhack.lms.web.auth.dto.RegisterRequest;
 import com.ironhack.lms.web.auth.dto.RegisterResponse;
 import org.springframework.security.core.Authentication;
@@ -17,6 +18,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.ironhack.lms.domain.user.User;
@@ -46,7 +48,7 @@ public class AuthController {
                             schema = @Schema(implementation = RegisterResponse.class),
                             examples = @ExampleObject(
                                     name = "Successful Registration",
-                                    value = "{\"token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\", \"user\": {\"id\": 1, \"email\": \"student@ironhack.com\", \"fullName\": \"John Doe\", \"role\": \"STUDENT\"}}"
+                                    value = "{\"token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\", \"refreshToken\": \"x0d8N3...\", \"user\": {\"id\": 1, \"email\": \"student@ironhack.com\", \"fullName\": \"John Doe\", \"role\": \"STUDENT\"}}"
                             )
                     )
             ),
@@ -93,7 +95,7 @@ public class AuthController {
                             schema = @Schema(implementation = LoginResponse.class),
                             examples = @ExampleObject(
                                     name = "Successful Login",
-                                    value = "{\"token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\", \"user\": {\"id\": 1, \"email\": \"student@ironhack.com\", \"fullName\": \"John Doe\", \"role\": \"STUDENT\"}}"
+                                    value = "{\"token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\", \"refreshToken\": \"x0d8N3...\", \"user\": {\"id\": 1, \"email\": \"student@ironhack.com\", \"fullName\": \"John Doe\", \"role\": \"STUDENT\"}}"
                             )
                     )
             ),
@@ -126,6 +128,52 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Refresh Token",
+            description = "Exchange a refresh token for a new access token and a new refresh token. Refresh tokens are single use; replaying one revokes every token issued from the same login.",
+            operationId = "refresh"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Token pair rotated",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = LoginResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Refresh token unknown, expired, reused or revoked",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Invalid Refresh Token",
+                                    value = "{\"error\": \"Invalid refresh token\"}"
+                            )
+                    )
+            )
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshRequest req) {
+        return ResponseEntity.ok(loginService.refresh(req));
+    }
+
+    @Operation(
+            summary = "Logout",
+            description = "Revoke the refresh token (and its family) and, if sent as a Bearer header, the current access token.",
+            operationId = "logout"
+    )
+    @ApiResponse(responseCode = "204", description = "Logged out")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshRequest req,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        loginService.logout(req, accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(
             summary = "Get Current User",
             description = "Get the current authenticated user's information. Requires a valid JWT token.",
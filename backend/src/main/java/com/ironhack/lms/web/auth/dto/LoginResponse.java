@@ -8,6 +8,10 @@ public record LoginResponse(
                 example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...",
                 required = true)
         String token,
+
+        @Schema(description = "Single-use refresh token; exchange it at /auth/refresh for a new token pair",
+                required = true)
+        String refreshToken,
         
         @Schema(description = "User information", required = true)
         UserInfo user
@@ -0,0 +1,11 @@
+package com.ironhack.lms.web.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Refresh token exchange / logout request")
+public record RefreshRequest(
+        @Schema(description = "Refresh token returned by login, register or a previous refresh", required = true)
+        @NotBlank(message = "Refresh token is required")
+        String refreshToken
+) {}
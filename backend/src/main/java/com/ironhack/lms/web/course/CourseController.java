@@ -1,6 +1,7 @@
 package com.ironhack.lms.web.course;
 
 import com.ironhack.lms.service.course.CourseService;
+import com.ironhack.lms.service.paging.CursorPage;
 import com.ironhack.lms.web.course.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -50,11 +51,34 @@ public class CourseController {
     @PermitAll
     @GetMapping
     public Page<CourseResponse> listPublished(
-            @Parameter(description = "Pagination parameters (page, size, sort)")
+            @Parameter(description = "Pagination parameters (page, size, sort); newest first when no sort is given")
             Pageable pageable) {
         return service.listPublished(pageable);
     }
 
+    @Operation(
+            summary = "List Published Courses (cursor)",
+            description = "Keyset-paginated catalog, newest first. Pass `first` without `after` for the first page, " +
+                    "then the previous response's `nextCursor`. No totals are computed.",
+            operationId = "listPublishedCoursesAfter"
+    )
+    @PermitAll
+    @GetMapping(params = "after")
+    public CursorPage<CourseResponse> listPublishedAfter(
+            @Parameter(description = "Opaque cursor from a previous page; omit (or leave empty) for the first page")
+            @RequestParam String after,
+            @Parameter(description = "Page size (max 100)", example = "10")
+            @RequestParam(defaultValue = "10") int first) {
+        return service.listPublishedAfter(after, first);
+    }
+
+    // first keyset page: `first` without `after`
+    @PermitAll
+    @GetMapping(params = {"first", "!after"})
+    public CursorPage<CourseResponse> listPublishedFirst(@RequestParam int first) {
+        return service.listPublishedAfter(null, first);
+    }
+
     @Operation(
             summary = "Get Course Details",
             description = "Retrieve detailed information about a specific course. " +
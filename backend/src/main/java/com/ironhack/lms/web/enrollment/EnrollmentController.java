@@ -1,6 +1,7 @@
 package com.ironhack.lms.web.enrollment;
 
 import com.ironhack.lms.service.enrollment.EnrollmentService;
+import com.ironhack.lms.service.paging.CursorPage;
 import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +15,7 @@ import jakarta.annotation.security.RolesAllowed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -78,6 +80,39 @@ public class EnrollmentController {
         return service.myEnrollments(auth, pageable);
     }
 
+    @Operation(
+            summary = "Get My Enrollments (no totals)",
+            description = "Same as getMyEnrollments with `count=false`: skips the COUNT query, so the response " +
+                    "has no totalElements/totalPages.",
+            operationId = "getMyEnrollmentsSlice"
+    )
+    @RolesAllowed("STUDENT")
+    @GetMapping(value = "/api/enrollments", params = {"count=false", "!after", "!first"})
+    public Slice<EnrollmentResponse> myEnrollmentsSlice(Authentication auth, Pageable pageable) {
+        return service.myEnrollmentsSlice(auth, pageable);
+    }
+
+    @Operation(
+            summary = "Get My Enrollments (cursor)",
+            description = "Keyset-paginated variant, newest first. Pass `first` without `after` for the first page, then the previous response's `nextCursor`.",
+            operationId = "getMyEnrollmentsAfter"
+    )
+    @RolesAllowed("STUDENT")
+    @GetMapping(value = "/api/enrollments", params = "after")
+    public CursorPage<EnrollmentResponse> myEnrollmentsAfter(
+            Authentication auth,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int first) {
+        return service.myEnrollmentsAfter(auth, after, first);
+    }
+
+    // first keyset page: `first` without `after`
+    @RolesAllowed("STUDENT")
+    @GetMapping(value = "/api/enrollments", params = {"first", "!after"})
+    public CursorPage<EnrollmentResponse> myEnrollmentsFirst(Authentication auth, @RequestParam int first) {
+        return service.myEnrollmentsAfter(auth, null, first);
+    }
+
     @Operation(
             summary = "Cancel Enrollment",
             description = "Cancel the authenticated student's enrollment in a course. " +
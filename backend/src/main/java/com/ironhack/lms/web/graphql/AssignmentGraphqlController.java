@@ -2,11 +2,13 @@ package com.ironhack.lms.web.graphql;
 
 import com.ironhack.lms.domain.course.Assignment;
 import com.ironhack.lms.repository.course.AssignmentRepository;
+import com.ironhack.lms.service.course.CourseContentChangedEvent;
 import com.ironhack.lms.web.course.dto.AssignmentCreateRequest;
 import com.ironhack.lms.web.graphql.input.AssignmentCreateInput;
 import com.ironhack.lms.web.graphql.input.AssignmentUpdateInput;
 import com.ironhack.lms.web.graphql.types.AssignmentGql;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
@@ -19,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AssignmentGraphqlController {
 
     private final AssignmentRepository assignments;
+    private final ApplicationEventPublisher events;
 
     @QueryMapping
     @Transactional(readOnly = true)
@@ -49,6 +52,7 @@ public class AssignmentGraphqlController {
         a.setAllowLate(req.allowLate());
 
         a = assignments.save(a);
+        events.publishEvent(new CourseContentChangedEvent(courseIdOf(a)));
         return AssignmentGqlMapper.toGql(a);
     }
 
@@ -66,6 +70,7 @@ public class AssignmentGraphqlController {
         a.setDueAt(dueInstant);
 
         a = assignments.save(a);
+        events.publishEvent(new CourseContentChangedEvent(courseIdOf(a)));
         return AssignmentGqlMapper.toGql(a);
     }
 
@@ -73,6 +78,11 @@ public class AssignmentGraphqlController {
     @Transactional
     public Boolean deleteAssignment(@Argument Long id, Authentication auth) {
         assignments.deleteById(id);
+        events.publishEvent(new CourseContentChangedEvent(null));
         return true;
     }
+
+    private static Long courseIdOf(Assignment a) {
+        return a.getLesson() == null ? null : a.getLesson().getCourse().getId();
+    }
 }
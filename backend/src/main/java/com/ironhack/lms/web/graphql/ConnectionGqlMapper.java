@@ -0,0 +1,23 @@
+package com.ironhack.lms.web.graphql;
+
+import com.ironhack.lms.service.paging.CursorPage;
+import com.ironhack.lms.web.graphql.types.ConnectionGql;
+import com.ironhack.lms.web.graphql.types.ConnectionPageInfoGql;
+import com.ironhack.lms.web.graphql.types.EdgeGql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public final class ConnectionGqlMapper {
+    private ConnectionGqlMapper() {}
+
+    public static <S, T> ConnectionGql<T> toGql(CursorPage<S> page, Function<? super S, ? extends T> mapper) {
+        List<EdgeGql<T>> edges = new ArrayList<>(page.content().size());
+        for (int i = 0; i < page.content().size(); i++) {
+            edges.add(new EdgeGql<>(page.cursors().get(i), mapper.apply(page.content().get(i))));
+        }
+        String endCursor = page.cursors().isEmpty() ? null : page.cursors().get(page.cursors().size() - 1);
+        return new ConnectionGql<>(edges, new ConnectionPageInfoGql(page.hasNext(), endCursor));
+    }
+}
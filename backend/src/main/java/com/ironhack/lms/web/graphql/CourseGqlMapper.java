@@ -1,6 +1,7 @@
 package com.ironhack.lms.web.graphql;
 
 import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.web.course.dto.CourseResponse;
 import com.ironhack.lms.web.graphql.types.*;
 import org.springframework.data.domain.Page;
 
@@ -31,4 +32,22 @@ public final class CourseGqlMapper {
         var pi = new PageInfoGql(page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages(), page.hasNext());
         return new CoursePageGql(content, pi);
     }
+
+    public static CourseGql toGql(CourseResponse c) {
+        return new CourseGql(
+                c.id(),
+                c.instructorId(),
+                c.title(),
+                c.description(),
+                c.status().name(),
+                toOffset(c.createdAt()),
+                toOffset(c.publishedAt())
+        );
+    }
+
+    public static CoursePageGql toGqlPage(Page<CourseResponse> page) {
+        var content = page.getContent().stream().map(CourseGqlMapper::toGql).toList();
+        var pi = new PageInfoGql(page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages(), page.hasNext());
+        return new CoursePageGql(content, pi);
+    }
 }
@@ -1,14 +1,16 @@
 package com.ironhack.lms.web.graphql;
 
 import com.ironhack.lms.domain.course.Course;
-import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.course.CourseStatus;
 import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.User;
+import com.ironhack.lms.repository.user.UserRepository;
 import com.ironhack.lms.service.course.CourseService;
 import com.ironhack.lms.repository.course.CourseRepository;
-import com.ironhack.lms.repository.course.LessonRepository;
 import com.ironhack.lms.web.course.dto.AssignmentSummaryResponse;
 import com.ironhack.lms.web.course.dto.LessonSummaryResponse;
 import com.ironhack.lms.web.graphql.types.*;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.data.method.annotation.*;
@@ -16,21 +18,33 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 public class CourseGraphqlController {
 
     private final CourseRepository courses;
-    private final LessonRepository lessons;
     private final CourseService courseService;
+    private final UserRepository users;
 
-    @QueryMapping @Transactional(readOnly = true)
-    public CoursePageGql courses(@Argument int page, @Argument int pageSize) {
-        var p = PageRequest.of(page, pageSize);
-        var pageEntities = courses.findByStatus(com.ironhack.lms.domain.course.CourseStatus.PUBLISHED, p);
-        return CourseGqlMapper.toGql(pageEntities);
+    @QueryMapping
+    public CoursePageGql courses(@Argument int page, @Argument int pageSize, DataFetchingFieldSelectionSet selection) {
+        var pageable = PageRequest.of(page, pageSize);
+        if (!selection.contains("content/description")) {
+            return CourseGqlMapper.toGqlPage(courseService.listPublishedSummaries(pageable));
+        }
+        // same cached catalog pages as GET /api/courses
+        return CourseGqlMapper.toGqlPage(courseService.listPublished(pageable));
+    }
+
+    @QueryMapping
+    public ConnectionGql<CourseGql> coursesConnection(@Argument int first, @Argument String after) {
+        return ConnectionGqlMapper.toGql(courseService.listPublishedAfter(after, first), CourseGqlMapper::toGql);
     }
 
     @QueryMapping @Transactional(readOnly = true)
@@ -42,39 +56,63 @@ public class CourseGraphqlController {
         return CourseGqlMapper.toGql(c);
     }
 
-    // Nested resolvers
-    @SchemaMapping(typeName = "Course", field = "lessons")
+    // Nested resolvers: batched, so a page of courses costs one lessons and one assignments query
+    @BatchMapping(typeName = "Course", field = "lessons")
     @Transactional(readOnly = true)
-    public List<LessonGql> lessons(CourseGql course, Authentication auth) {
-        var list = courseService.listLessonsForRead(course.id(), auth);
-        return list.stream()
-                .map(l -> new LessonGql(l.id(), course.id(), l.title(), l.orderIndex()))
-                .toList();
+    public Map<CourseGql, List<LessonGql>> lessons(List<CourseGql> courseList, Authentication auth) {
+        var byCourse = courseService.listLessonsForRead(refs(courseList), auth);
+        Map<CourseGql, List<LessonGql>> result = new HashMap<>();
+        for (CourseGql c : courseList) {
+            result.put(c, byCourse.get(c.id()).stream()
+                    .map(l -> new LessonGql(l.id(), c.id(), l.title(), l.orderIndex()))
+                    .toList());
+        }
+        return result;
     }
 
-    @SchemaMapping(typeName = "Course", field = "assignments")
+    @BatchMapping(typeName = "Course", field = "assignments")
     @Transactional(readOnly = true)
-    public List<AssignmentGql> assignments(CourseGql course, Authentication auth) {
-        var list = courseService.listAssignmentsForRead(course.id(), auth);
-        return list.stream()
-                .map(a -> new AssignmentGql(
-                        a.id(),
-                        course.id(),
-                        null,
-                        a.title(),
-                        a.instructions(),
-                        a.maxPoints(),
-                        a.allowLate(),
-                        a.dueAt() == null ? null : a.dueAt().atOffset(java.time.ZoneOffset.UTC)
-                ))
+    public Map<CourseGql, List<AssignmentGql>> assignments(List<CourseGql> courseList, Authentication auth) {
+        var byCourse = courseService.listAssignmentsForRead(refs(courseList), auth);
+        Map<CourseGql, List<AssignmentGql>> result = new HashMap<>();
+        for (CourseGql c : courseList) {
+            result.put(c, byCourse.get(c.id()).stream()
+                    .map(a -> new AssignmentGql(
+                            a.id(),
+                            c.id(),
+                            null,
+                            a.title(),
+                            a.instructions(),
+                            a.maxPoints(),
+                            a.allowLate(),
+                            a.dueAt() == null ? null : a.dueAt().atOffset(java.time.ZoneOffset.UTC)
+                    ))
+                    .toList());
+        }
+        return result;
+    }
+
+    private static List<CourseService.CourseRef> refs(List<CourseGql> courseList) {
+        return courseList.stream()
+                .map(c -> new CourseService.CourseRef(c.id(), c.instructorId(), CourseStatus.valueOf(c.status())))
                 .toList();
     }
 
-    @SchemaMapping(typeName = "Course", field = "instructor")
+    // Batched: CourseGql already carries instructorId, so one IN query covers the whole page
+    @BatchMapping(typeName = "Course", field = "instructor")
     @Transactional(readOnly = true)
-    public InstructorGql instructor(CourseGql course) {
-        Course courseEntity = courses.findById(course.id())
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        return InstructorGqlMapper.toGql(courseEntity.getInstructor());
+    public Map<CourseGql, InstructorGql> instructor(List<CourseGql> courseList) {
+        Set<Long> ids = courseList.stream().map(CourseGql::instructorId).collect(Collectors.toSet());
+        Map<Long, InstructorGql> byId = new HashMap<>();
+        for (User u : users.findAllById(ids)) {
+            if (u instanceof Instructor i) byId.put(i.getId(), InstructorGqlMapper.toGql(i));
+        }
+        Map<CourseGql, InstructorGql> result = new HashMap<>();
+        for (CourseGql c : courseList) {
+            InstructorGql instructor = byId.get(c.instructorId());
+            if (instructor == null) throw new RuntimeException("Instructor not found");
+            result.put(c, instructor);
+        }
+        return result;
     }
 }
@@ -2,12 +2,14 @@ package com.ironhack.lms.web.graphql;
 
 import com.ironhack.lms.domain.course.Course;
 import com.ironhack.lms.domain.enrollment.Enrollment;
+import com.ironhack.lms.repository.course.CourseSummary;
+import com.ironhack.lms.repository.enrollment.EnrollmentSummary;
 import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
 import com.ironhack.lms.web.graphql.dto.EnrollmentGql;
 import com.ironhack.lms.web.graphql.dto.EnrollmentPageGql;
 import com.ironhack.lms.web.graphql.types.CourseGql;
 import com.ironhack.lms.web.graphql.types.PageInfoGql;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
@@ -54,36 +56,55 @@ public final class EnrollmentDtoMapper {
         );
     }
 
-    public static EnrollmentPageGql toGql(Page<EnrollmentResponse> page) {
+    public static EnrollmentGql toGql(EnrollmentSummary enrollment) {
+        CourseSummary course = enrollment.course();
+        CourseGql courseGql = new CourseGql(
+                course.id(),
+                course.instructorId(),
+                course.title(),
+                null, // not selected, not read
+                course.status().toString(),
+                toOffset(course.createdAt()),
+                toOffset(course.publishedAt())
+        );
+
+        return new EnrollmentGql(
+                enrollment.id(),
+                course.id(),
+                enrollment.studentId(),
+                toOffset(enrollment.enrolledAt()),
+                enrollment.status().toString(),
+                courseGql
+        );
+    }
+
+    public static EnrollmentPageGql toGql(Slice<EnrollmentResponse> page) {
         List<EnrollmentGql> content = page.getContent().stream()
                 .map(EnrollmentDtoMapper::toGql)
                 .toList();
 
-        PageInfoGql pi = new PageInfoGql(
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.hasNext()
-        );
+        PageInfoGql pi = PageInfoGql.of(page);
 
         return new EnrollmentPageGql(content, pi);
     }
 
-    public static EnrollmentPageGql toGqlFromEntities(Page<Enrollment> page) {
+    public static EnrollmentPageGql toGqlFromEntities(Slice<Enrollment> page) {
         List<EnrollmentGql> content = page.getContent().stream()
                 .map(EnrollmentDtoMapper::toGql)
                 .toList();
 
-        PageInfoGql pi = new PageInfoGql(
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.hasNext()
-        );
+        PageInfoGql pi = PageInfoGql.of(page);
 
         return new EnrollmentPageGql(content, pi);
     }
-}
 
+    public static EnrollmentPageGql toGqlFromSummaries(Slice<EnrollmentSummary> page) {
+        List<EnrollmentGql> content = page.getContent().stream()
+                .map(EnrollmentDtoMapper::toGql)
+                .toList();
+
+        PageInfoGql pi = PageInfoGql.of(page);
+
+        return new EnrollmentPageGql(content, pi);
+    }
+}
@@ -4,6 +4,8 @@ import com.ironhack.lms.service.enrollment.EnrollmentService;
 import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
 import com.ironhack.lms.web.graphql.dto.EnrollmentGql;
 import com.ironhack.lms.web.graphql.dto.EnrollmentPageGql;
+import com.ironhack.lms.web.graphql.types.ConnectionGql;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -21,11 +23,26 @@ public class EnrollmentGraphqlController {
 
     @QueryMapping
     @Transactional(readOnly = true)
-    public EnrollmentPageGql myEnrollments(@Argument int page, @Argument int pageSize, Authentication auth) {
-        var enrollments = enrollmentService.myEnrollmentsEntities(auth, PageRequest.of(page, pageSize));
+    public EnrollmentPageGql myEnrollments(@Argument int page, @Argument int pageSize, @Argument boolean withTotal,
+                                           Authentication auth, DataFetchingFieldSelectionSet selection) {
+        var pageable = PageRequest.of(page, pageSize);
+        if (!selection.contains("content/course/description")) {
+            return EnrollmentDtoMapper.toGqlFromSummaries(
+                    enrollmentService.myEnrollmentSummaries(auth, pageable, withTotal));
+        }
+        var enrollments = withTotal
+                ? enrollmentService.myEnrollmentsEntities(auth, pageable)
+                : enrollmentService.myEnrollmentsEntitiesSlice(auth, pageable);
         return EnrollmentDtoMapper.toGqlFromEntities(enrollments);
     }
 
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public ConnectionGql<EnrollmentGql> myEnrollmentsConnection(@Argument int first, @Argument String after, Authentication auth) {
+        var enrollments = enrollmentService.myEnrollmentsEntitiesAfter(auth, after, first);
+        return ConnectionGqlMapper.toGql(enrollments, EnrollmentDtoMapper::toGql);
+    }
+
     @MutationMapping
     @Transactional
     public EnrollmentGql enrollInCourse(@Argument Long courseId, Authentication auth) {
@@ -1,10 +1,11 @@
 package com.ironhack.lms.web.graphql;
 
 import com.ironhack.lms.domain.item.Item;
+import com.ironhack.lms.repository.item.ItemSummary;
 import com.ironhack.lms.web.graphql.types.ItemGql;
 import com.ironhack.lms.web.graphql.types.ItemPageGql;
 import com.ironhack.lms.web.graphql.types.PageInfoGql;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
@@ -31,18 +32,30 @@ public final class ItemGqlMapper {
         );
     }
 
-    public static ItemPageGql toGql(Page<Item> page) {
+    // summary rows carry no body; only used when the selection doesn't include bodyMarkdown
+    public static ItemGql toGql(ItemSummary i) {
+        return new ItemGql(
+                i.id(),
+                i.lessonId(),
+                i.title(),
+                i.description(),
+                i.tags(),
+                null,
+                toOffset(i.createdAt()),
+                toOffset(i.updatedAt())
+        );
+    }
+
+    public static ItemPageGql toGqlSummaries(Slice<ItemSummary> page) {
+        return new ItemPageGql(page.getContent().stream().map(ItemGqlMapper::toGql).toList(), PageInfoGql.of(page));
+    }
+
+    public static ItemPageGql toGql(Slice<Item> page) {
         List<ItemGql> content = page.getContent().stream()
                 .map(ItemGqlMapper::toGql)
                 .toList();
 
-        PageInfoGql pi = new PageInfoGql(
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.hasNext()
-        );
+        PageInfoGql pi = PageInfoGql.of(page);
 
         return new ItemPageGql(content, pi);
     }
@@ -8,6 +8,7 @@ import com.ironhack.lms.service.item.ItemService;
 import com.ironhack.lms.web.graphql.input.ItemCreateInput;
 import com.ironhack.lms.web.graphql.input.ItemUpdateInput;
 import com.ironhack.lms.web.graphql.types.*;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.data.method.annotation.*;
@@ -23,11 +24,30 @@ public class ItemGraphqlController {
 
     @QueryMapping
     @Transactional(readOnly = true)
-    public ItemPageGql items(@Argument String search, @Argument int page, @Argument int pageSize) {
-        var pageEntities = items.searchEntities(search, PageRequest.of(page, pageSize));
+    public ItemPageGql items(@Argument String search, @Argument int page, @Argument int pageSize,
+                             @Argument Boolean withTotal, DataFetchingFieldSelectionSet selection) {
+        var pageable = PageRequest.of(page, pageSize);
+        if (!selection.contains("content/bodyMarkdown")) {
+            return ItemGqlMapper.toGqlSummaries(items.searchSummaries(search, pageable,
+                    !Boolean.FALSE.equals(withTotal), selection.contains("content/tags")));
+        }
+        var pageEntities = Boolean.FALSE.equals(withTotal)
+                ? items.searchEntitiesSlice(search, pageable)
+                : items.searchEntities(search, pageable);
         return ItemGqlMapper.toGql(pageEntities);
     }
 
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public ConnectionGql<ItemGql> itemsConnection(@Argument String search, @Argument int first, @Argument String after,
+                                                  DataFetchingFieldSelectionSet selection) {
+        if (!selection.contains("edges/node/bodyMarkdown")) {
+            return ConnectionGqlMapper.toGql(items.searchSummariesAfter(search, after, first,
+                    selection.contains("edges/node/tags")), ItemGqlMapper::toGql);
+        }
+        return ConnectionGqlMapper.toGql(items.searchEntitiesAfter(search, after, first), ItemGqlMapper::toGql);
+    }
+
     @QueryMapping
     @Transactional(readOnly = true)
     public ItemGql item(@Argument Long id) {
@@ -12,13 +12,19 @@ import com.ironhack.lms.web.graphql.types.ItemGql;
 import com.ironhack.lms.web.graphql.types.LessonGql;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
-import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Controller
 @RequiredArgsConstructor
 public class LessonGraphqlController {
@@ -46,19 +52,33 @@ public class LessonGraphqlController {
         return LessonGqlMapper.toGql(lesson);
     }
 
-    @SchemaMapping(typeName = "Lesson", field = "item")
+    // Batched: one IN query per field for all lessons in the response, not one per lesson
+    @BatchMapping(typeName = "Lesson", field = "item")
     @Transactional(readOnly = true)
-    public ItemGql item(LessonGql lesson) {
-        return items.findByLesson_Id(lesson.id())
-                .map(ItemGqlMapper::toGql)
-                .orElse(null);
+    public Map<LessonGql, ItemGql> item(List<LessonGql> lessonList) {
+        Set<Long> ids = lessonList.stream().map(LessonGql::id).collect(Collectors.toSet());
+        Map<Long, ItemGql> byLesson = items.findAllWithTagsByLessonIdIn(ids).stream()
+                .collect(Collectors.toMap(i -> i.getLesson().getId(), ItemGqlMapper::toGql));
+        Map<LessonGql, ItemGql> result = new HashMap<>();
+        for (LessonGql l : lessonList) {
+            ItemGql item = byLesson.get(l.id());
+            if (item != null) result.put(l, item);   // absent key -> null item
+        }
+        return result;
     }
 
-    @SchemaMapping(typeName = "Lesson", field = "course")
+    @BatchMapping(typeName = "Lesson", field = "course")
     @Transactional(readOnly = true)
-    public CourseGql course(LessonGql lesson) {
-        Course course = courses.findById(lesson.courseId())
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        return CourseGqlMapper.toGql(course);
+    public Map<LessonGql, CourseGql> course(List<LessonGql> lessonList) {
+        Set<Long> ids = lessonList.stream().map(LessonGql::courseId).collect(Collectors.toSet());
+        Map<Long, CourseGql> byId = courses.findAllById(ids).stream()
+                .collect(Collectors.toMap(Course::getId, CourseGqlMapper::toGql));
+        Map<LessonGql, CourseGql> result = new HashMap<>();
+        for (LessonGql l : lessonList) {
+            CourseGql course = byId.get(l.courseId());
+            if (course == null) throw new RuntimeException("Course not found");
+            result.put(l, course);
+        }
+        return result;
     }
 }
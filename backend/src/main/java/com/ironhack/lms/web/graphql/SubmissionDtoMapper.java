@@ -1,10 +1,13 @@
 package com.ironhack.lms.web.graphql;
 
+import com.ironhack.lms.web.graphql.types.GradeResultGql;
+import com.ironhack.lms.web.graphql.types.GradeSubmissionsResultGql;
 import com.ironhack.lms.web.graphql.types.PageInfoGql;
 import com.ironhack.lms.web.graphql.types.SubmissionGql;
 import com.ironhack.lms.web.graphql.types.SubmissionPageGql;
+import com.ironhack.lms.web.submission.dto.BulkGradeResponse;
 import com.ironhack.lms.web.submission.dto.SubmissionResponse;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -31,15 +34,20 @@ public final class SubmissionDtoMapper {
         );
     }
 
-    public static SubmissionPageGql toGql(Page<SubmissionResponse> page) {
+    public static GradeSubmissionsResultGql toGql(BulkGradeResponse bulk) {
+        var results = bulk.results().stream()
+                .map(r -> new GradeResultGql(
+                        r.submissionId(),
+                        r.outcome().name(),
+                        r.error(),
+                        r.submission() == null ? null : toGql(r.submission())))
+                .toList();
+        return new GradeSubmissionsResultGql(bulk.graded(), bulk.failed(), results);
+    }
+
+    public static SubmissionPageGql toGql(Slice<SubmissionResponse> page) {
         var content = page.getContent().stream().map(SubmissionDtoMapper::toGql).toList();
-        var pi = new PageInfoGql(
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.hasNext()
-        );
+        var pi = PageInfoGql.of(page);
         return new SubmissionPageGql(content, pi);
     }
 }
@@ -18,7 +18,7 @@ public final class SubmissionGqlMapper {
         return new SubmissionGql(
                 s.getId(),
                 s.getAssignment().getId(),
-                s.getAssignment().getLesson().getCourse().getId(), // <-- changed
+                s.getCourse().getId(),
                 s.getStudent().getId(),
                 toOffset(s.getSubmittedAt()),
                 s.getArtifactUrl(),
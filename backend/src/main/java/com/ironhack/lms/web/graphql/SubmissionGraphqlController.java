@@ -1,19 +1,29 @@
 package com.ironhack.lms.web.graphql;
 
+import com.ironhack.lms.config.GraphqlWebSocketAuthInterceptor;
 import com.ironhack.lms.service.submission.SubmissionService;
+import com.ironhack.lms.web.graphql.input.GradeInput;
+import com.ironhack.lms.web.graphql.types.ConnectionGql;
+import com.ironhack.lms.web.graphql.types.GradeSubmissionsResultGql;
 import com.ironhack.lms.web.graphql.types.SubmissionGql;
 import com.ironhack.lms.web.graphql.types.SubmissionPageGql;
+import com.ironhack.lms.web.submission.dto.BulkGradeItem;
 import com.ironhack.lms.web.submission.dto.GradeRequest;
 import com.ironhack.lms.web.submission.dto.ResubmitRequest;
 import com.ironhack.lms.web.submission.dto.SubmissionCreateRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
@@ -25,18 +35,52 @@ public class SubmissionGraphqlController {
 
     @QueryMapping
     @Transactional(readOnly = true)
-    public SubmissionPageGql mySubmissions(@Argument int page, @Argument int pageSize, Authentication auth) {
-        var p = submissions.mySubmissions(auth, PageRequest.of(page, pageSize));
+    public SubmissionPageGql mySubmissions(@Argument int page, @Argument int pageSize, @Argument boolean withTotal,
+                                           Authentication auth) {
+        var pageable = PageRequest.of(page, pageSize);
+        var p = withTotal ? submissions.mySubmissions(auth, pageable) : submissions.mySubmissionsSlice(auth, pageable);
         return SubmissionDtoMapper.toGql(p);
     }
 
     @QueryMapping
     @Transactional(readOnly = true)
-    public SubmissionPageGql submissionsByCourse(@Argument Long courseId, @Argument int page, @Argument int pageSize, Authentication auth) {
-        var p = submissions.listByCourse(courseId, auth, PageRequest.of(page, pageSize));
+    public SubmissionPageGql submissionsByCourse(@Argument Long courseId, @Argument int page, @Argument int pageSize,
+                                                 @Argument boolean withTotal, Authentication auth) {
+        var pageable = PageRequest.of(page, pageSize);
+        var p = withTotal
+                ? submissions.listByCourse(courseId, auth, pageable)
+                : submissions.listByCourseSlice(courseId, auth, pageable);
         return SubmissionDtoMapper.toGql(p);
     }
 
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public ConnectionGql<SubmissionGql> mySubmissionsConnection(@Argument int first, @Argument String after, Authentication auth) {
+        return ConnectionGqlMapper.toGql(submissions.mySubmissionsAfter(auth, after, first), SubmissionDtoMapper::toGql);
+    }
+
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public ConnectionGql<SubmissionGql> submissionsByCourseConnection(@Argument Long courseId, @Argument int first,
+                                                                      @Argument String after, Authentication auth) {
+        var p = submissions.listByCourseAfter(courseId, auth, after, first);
+        return ConnectionGqlMapper.toGql(p, SubmissionDtoMapper::toGql);
+    }
+
+    // ----- Subscriptions (graphql-ws; see GraphqlWebSocketAuthInterceptor) -----
+
+    @SubscriptionMapping
+    public Flux<SubmissionGql> submissionCreated(@Argument Long courseId,
+            @ContextValue(name = GraphqlWebSocketAuthInterceptor.AUTHENTICATION, required = false) Authentication auth) {
+        return submissions.submissionsCreated(courseId, auth).map(SubmissionDtoMapper::toGql);
+    }
+
+    @SubscriptionMapping
+    public Flux<SubmissionGql> submissionGraded(
+            @ContextValue(name = GraphqlWebSocketAuthInterceptor.AUTHENTICATION, required = false) Authentication auth) {
+        return submissions.mySubmissionsReviewed(auth).map(SubmissionDtoMapper::toGql);
+    }
+
     // ----- Mutations -----
 
     @MutationMapping
@@ -53,6 +97,16 @@ public class SubmissionGraphqlController {
         return SubmissionDtoMapper.toGql(dto);
     }
 
+    @MutationMapping
+    @Transactional
+    public GradeSubmissionsResultGql gradeSubmissions(@Argument Long courseId, @Argument List<GradeInput> inputs,
+                                                      Authentication auth) {
+        var grades = inputs.stream()
+                .map(i -> new BulkGradeItem(i.submissionId(), i.score(), i.feedback()))
+                .toList();
+        return SubmissionDtoMapper.toGql(submissions.gradeMany(courseId, grades, auth));
+    }
+
     @MutationMapping
     @Transactional
     public SubmissionGql requestResubmission(@Argument Long id, @Argument String feedback, Authentication auth) {
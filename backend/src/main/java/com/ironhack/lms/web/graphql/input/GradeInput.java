@@ -0,0 +1,7 @@
+package com.ironhack.lms.web.graphql.input;
+
+public record GradeInput(
+        Long submissionId,
+        Integer score,
+        String feedback
+) {}
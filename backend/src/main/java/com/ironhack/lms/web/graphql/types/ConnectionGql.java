@@ -0,0 +1,9 @@
+package com.ironhack.lms.web.graphql.types;
+
+import java.util.List;
+
+/** Relay-style connection; one record backs every {@code *Connection} type in the schema. */
+public record ConnectionGql<T>(
+        List<EdgeGql<T>> edges,
+        ConnectionPageInfoGql pageInfo
+) {}
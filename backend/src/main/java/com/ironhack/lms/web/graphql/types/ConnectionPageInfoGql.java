@@ -0,0 +1,6 @@
+package com.ironhack.lms.web.graphql.types;
+
+public record ConnectionPageInfoGql(
+        boolean hasNextPage,
+        String endCursor
+) {}
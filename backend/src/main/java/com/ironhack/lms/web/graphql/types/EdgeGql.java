@@ -0,0 +1,6 @@
+package com.ironhack.lms.web.graphql.types;
+
+public record EdgeGql<T>(
+        String cursor,
+        T node
+) {}
@@ -0,0 +1,8 @@
+package com.ironhack.lms.web.graphql.types;
+
+public record GradeResultGql(
+        Long submissionId,
+        String outcome,
+        String error,
+        SubmissionGql submission
+) {}
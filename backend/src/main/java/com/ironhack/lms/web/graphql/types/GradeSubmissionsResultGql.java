@@ -0,0 +1,9 @@
+package com.ironhack.lms.web.graphql.types;
+
+import java.util.List;
+
+public record GradeSubmissionsResultGql(
+        int graded,
+        int failed,
+        List<GradeResultGql> results
+) {}
@@ -1,9 +1,20 @@
 package com.ironhack.lms.web.graphql.types;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+// totals are null when the query ran in slice mode (withTotal: false)
 public record PageInfoGql(
         int page,
         int pageSize,
-        long totalElements,
-        int totalPages,
+        Long totalElements,
+        Integer totalPages,
         boolean hasNext
-) {}
+) {
+    public static PageInfoGql of(Slice<?> slice) {
+        if (slice instanceof Page<?> page) {
+            return new PageInfoGql(page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages(), page.hasNext());
+        }
+        return new PageInfoGql(slice.getNumber(), slice.getSize(), null, null, slice.hasNext());
+    }
+}
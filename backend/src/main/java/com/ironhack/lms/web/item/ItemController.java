@@ -1,6 +1,7 @@
 package com.ironhack.lms.web.item.dto;
 
 import com.ironhack.lms.service.item.ItemService;
+import com.ironhack.lms.service.paging.CursorPage;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,34 @@ public class ItemController {
         return service.search(search, PageRequest.of(page, pageSize, Sort.by("updatedAt").descending()));
     }
 
+    // count=false: same page, no COUNT query, no totals in the response
+    @GetMapping(params = {"count=false", "!after", "!first"})
+    public Slice<ItemListResponse> listSlice(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int pageSize
+    ) {
+        return service.searchSlice(search, PageRequest.of(page, pageSize, Sort.by("updatedAt").descending()));
+    }
+
+    @GetMapping(params = "after")
+    public CursorPage<ItemListResponse> listAfter(
+            @RequestParam(required = false) String search,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int first
+    ) {
+        return service.searchAfter(search, after, first);
+    }
+
+    // first keyset page: `first` without `after`
+    @GetMapping(params = {"first", "!after"})
+    public CursorPage<ItemListResponse> listFirst(
+            @RequestParam(required = false) String search,
+            @RequestParam @Min(1) @Max(50) int first
+    ) {
+        return service.searchAfter(search, null, first);
+    }
+
     @PostMapping
     public ResponseEntity<ItemResponse> create(@RequestBody ItemCreateRequest req) {
         return ResponseEntity.ok(service.create(req));
@@ -1,5 +1,8 @@
 package com.ironhack.lms.web.submission;
 
+import com.ironhack.lms.repository.course.GradebookColumn;
+import com.ironhack.lms.service.paging.CursorPage;
+import com.ironhack.lms.service.submission.GradebookFormat;
 import com.ironhack.lms.service.submission.SubmissionService;
 import com.ironhack.lms.web.submission.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,9 +18,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -80,6 +89,39 @@ public class SubmissionController {
         return service.mySubmissions(auth, pageable);
     }
 
+    @Operation(
+            summary = "Get My Submissions (no totals)",
+            description = "Same as getMySubmissions with `count=false`: skips the COUNT query, so the response " +
+                    "has no totalElements/totalPages, only `last`/`hasNext`-style flags.",
+            operationId = "getMySubmissionsSlice"
+    )
+    @RolesAllowed("STUDENT")
+    @GetMapping(value = "/api/submissions/mine", params = {"count=false", "!after", "!first"})
+    public Slice<SubmissionResponse> mySubmissionsSlice(Authentication auth, Pageable pageable) {
+        return service.mySubmissionsSlice(auth, pageable);
+    }
+
+    @Operation(
+            summary = "Get My Submissions (cursor)",
+            description = "Keyset-paginated variant, newest first. Pass `first` without `after` for the first page, then the previous response's `nextCursor`.",
+            operationId = "getMySubmissionsAfter"
+    )
+    @RolesAllowed("STUDENT")
+    @GetMapping(value = "/api/submissions/mine", params = "after")
+    public CursorPage<SubmissionResponse> mySubmissionsAfter(
+            Authentication auth,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int first) {
+        return service.mySubmissionsAfter(auth, after, first);
+    }
+
+    // first keyset page: `first` without `after`
+    @RolesAllowed("STUDENT")
+    @GetMapping(value = "/api/submissions/mine", params = {"first", "!after"})
+    public CursorPage<SubmissionResponse> mySubmissionsFirst(Authentication auth, @RequestParam int first) {
+        return service.mySubmissionsAfter(auth, null, first);
+    }
+
     @Operation(
             summary = "List Course Submissions",
             description = "Retrieve all submissions for assignments in a specific course. " +
@@ -109,6 +151,60 @@ public class SubmissionController {
         return service.listByCourse(courseId, auth, pageable);
     }
 
+    @Operation(
+            summary = "List Course Submissions (cursor)",
+            description = "Keyset-paginated variant, newest first. Pass `first` without `after` for the first page, then the previous response's `nextCursor`.",
+            operationId = "listCourseSubmissionsAfter"
+    )
+    @RolesAllowed({"INSTRUCTOR","ADMIN"})
+    @GetMapping(value = "/api/courses/{courseId}/submissions", params = "after")
+    public CursorPage<SubmissionResponse> listByCourseAfter(
+            @PathVariable Long courseId,
+            Authentication auth,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int first) {
+        return service.listByCourseAfter(courseId, auth, after, first);
+    }
+
+    // first keyset page: `first` without `after`
+    @RolesAllowed({"INSTRUCTOR","ADMIN"})
+    @GetMapping(value = "/api/courses/{courseId}/submissions", params = {"first", "!after"})
+    public CursorPage<SubmissionResponse> listByCourseFirst(@PathVariable Long courseId, Authentication auth,
+                                                            @RequestParam int first) {
+        return service.listByCourseAfter(courseId, auth, null, first);
+    }
+
+    @Operation(
+            summary = "Course Gradebook",
+            description = "Stream the student-by-assignment score matrix of a course, one student per line. " +
+                    "`format=ndjson` (default) or `format=csv`. Only instructors and admins can read the gradebook.",
+            operationId = "streamGradebook"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Gradebook streamed",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "403", description = "Access denied - Instructor/Admin role required"),
+            @ApiResponse(responseCode = "400", description = "Unknown format")
+    })
+    @RolesAllowed({"INSTRUCTOR","ADMIN"})
+    @GetMapping("/api/courses/{courseId}/gradebook")
+    public ResponseEntity<StreamingResponseBody> gradebook(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication auth) {
+        GradebookFormat f = GradebookFormat.parse(format);
+        // access is checked here, before the body starts, so a denial is still a 403
+        List<GradebookColumn> columns = service.gradebookColumns(courseId, auth);
+        StreamingResponseBody body = out -> service.writeGradebook(courseId, columns, f, out);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().contentType(f.mediaType());
+        if (f == GradebookFormat.CSV) {
+            ok.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("course-" + courseId + "-gradebook.csv").build().toString());
+        }
+        return ok.body(body);
+    }
+
     @Operation(
             summary = "Grade Submission",
             description = "Grade a student's assignment submission. Only instructors and admins can grade submissions.",
@@ -137,6 +233,35 @@ public class SubmissionController {
         return service.grade(id, req, auth);
     }
 
+    @Operation(
+            summary = "Grade Submissions (bulk)",
+            description = "Grade up to 500 submissions of one course in a single transaction. Access is checked once " +
+                    "for the course; every item gets its own outcome (GRADED, NOT_FOUND, INVALID_SCORE, DUPLICATE), " +
+                    "so one bad score does not fail the rest.",
+            operationId = "gradeSubmissionsBulk"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Per-item grading results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkGradeResponse.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied - not the course instructor or an admin"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized request")
+    })
+    @RolesAllowed({"INSTRUCTOR","ADMIN"})
+    @PostMapping("/api/courses/{courseId}/submissions/grades")
+    public BulkGradeResponse gradeMany(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            @Valid @RequestBody BulkGradeRequest req,
+            Authentication auth) {
+        return service.gradeMany(courseId, req.grades(), auth);
+    }
+
     @Operation(
             summary = "Request Resubmission",
             description = "Request a student to resubmit their assignment. " +
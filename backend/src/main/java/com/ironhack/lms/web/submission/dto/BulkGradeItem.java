@@ -0,0 +1,19 @@
+package com.ironhack.lms.web.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "One grade in a bulk grading request")
+public record BulkGradeItem(
+        @Schema(description = "Submission to grade", example = "1")
+        @NotNull Long submissionId,
+
+        @Schema(description = "Score, validated against the assignment's maxPoints", example = "85")
+        @NotNull @Min(0) @Max(10000) Integer score,
+
+        @Schema(description = "Instructor feedback", example = "Nice work")
+        @Size(max = 50000) String feedback
+) {}
@@ -0,0 +1,13 @@
+package com.ironhack.lms.web.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Grades for many submissions of one course")
+public record BulkGradeRequest(
+        @NotEmpty @Size(max = 500) List<@Valid BulkGradeItem> grades
+) {}
@@ -0,0 +1,32 @@
+package com.ironhack.lms.web.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Per-item outcome of a bulk grading request, in request order")
+public record BulkGradeResponse(
+        @Schema(description = "Number of submissions graded", example = "299")
+        int graded,
+
+        @Schema(description = "Number of items rejected", example = "1")
+        int failed,
+
+        List<Result> results
+) {
+    public enum Outcome { GRADED, NOT_FOUND, INVALID_SCORE, DUPLICATE }
+
+    public record Result(
+            @Schema(description = "Submission the item referred to", example = "1")
+            Long submissionId,
+
+            @Schema(description = "What happened to this item", example = "GRADED")
+            Outcome outcome,
+
+            @Schema(description = "Why the item was rejected (null when graded)")
+            String error,
+
+            @Schema(description = "The graded submission (null when rejected)")
+            SubmissionResponse submission
+    ) {}
+}
@@ -0,0 +1,27 @@
+-- Stateless JWT principals and rotating refresh tokens: a per-user token version embedded in issued
+-- tokens, the refresh-token families, and the access-token revocation list.
+alter table app_user add column token_version integer not null default 0;
+
+create table refresh_token (
+    id            bigint      not null auto_increment,
+    token_hash    varchar(64) not null,
+    family_id     varchar(36) not null,
+    user_id       bigint      not null,
+    token_version integer     not null,
+    created_at    datetime(6) not null,
+    expires_at    datetime(6) not null,
+    revoked_at    datetime(6),
+    primary key (id),
+    constraint uq_refresh_token_hash unique (token_hash)
+);
+
+create table revoked_access_token (
+    jti        varchar(36) not null,
+    expires_at datetime(6) not null,
+    primary key (jti)
+);
+
+create index ix_refresh_family on refresh_token (family_id);
+create index ix_revoked_expires on revoked_access_token (expires_at);
+
+alter table refresh_token add constraint fk_refresh_token_user foreign key (user_id) references app_user (id);
@@ -0,0 +1,5 @@
+-- Keyset (cursor) listings seek on (filter, timestamp, id) and read rows already in page order.
+create index ix_course_status_created on course (status, created_at, id);
+create index ix_items_updated on items (updated_at, id);
+create index ix_enroll_student_enrolled on enrollment (student_id, enrolled_at, id);
+create index ix_submission_student_submitted on submission (student_id, submitted_at, id);
@@ -0,0 +1,14 @@
+-- Course-scoped submission listings filter on submission.course_id instead of joining
+-- assignment -> lesson -> course. Added nullable, copied from the assignment's lesson, then required.
+alter table submission add column course_id bigint;
+
+update submission set course_id = (
+    select l.course_id from assignment a join lesson l on l.id = a.lesson_id
+    where a.id = submission.assignment_id)
+where course_id is null;
+
+alter table submission modify course_id bigint not null;
+
+create index ix_submission_course_submitted on submission (course_id, submitted_at, id);
+
+alter table submission add constraint fk_submission_course foreign key (course_id) references course (id);
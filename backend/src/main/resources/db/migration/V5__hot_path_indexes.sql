@@ -0,0 +1,7 @@
+-- Lessons are always read per course in order_index order (course pages, GraphQL Course.lessons);
+-- this serves both the filter and the sort, and replaces the implicit FK index on course_id.
+create index ix_lesson_course_order on lesson (course_id, order_index);
+
+-- Assignments are read per lesson (existence checks, the lesson -> assignment join behind the course-wide
+-- listings); due_at lets a lesson's assignments come back in due order. Replaces the FK index on lesson_id.
+create index ix_assignment_lesson_due on assignment (lesson_id, due_at);
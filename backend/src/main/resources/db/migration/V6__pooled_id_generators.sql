@@ -0,0 +1,16 @@
+-- Pooled (pooled-lo) id allocation for the batch-inserted entities: each row holds the first id of
+-- the next block handed out to an application instance. Seeded past the ids IDENTITY already used;
+-- the auto_increment attribute stays but is no longer relied on.
+create table id_generator (
+    sequence_name varchar(255) not null,
+    next_val      bigint,
+    primary key (sequence_name)
+);
+
+insert into id_generator (sequence_name, next_val) select 'app_user', coalesce(max(id), 0) + 1 from app_user;
+insert into id_generator (sequence_name, next_val) select 'course', coalesce(max(id), 0) + 1 from course;
+insert into id_generator (sequence_name, next_val) select 'lesson', coalesce(max(id), 0) + 1 from lesson;
+insert into id_generator (sequence_name, next_val) select 'assignment', coalesce(max(id), 0) + 1 from assignment;
+insert into id_generator (sequence_name, next_val) select 'items', coalesce(max(id), 0) + 1 from items;
+insert into id_generator (sequence_name, next_val) select 'enrollment', coalesce(max(id), 0) + 1 from enrollment;
+insert into id_generator (sequence_name, next_val) select 'submission', coalesce(max(id), 0) + 1 from submission;
@@ -0,0 +1,96 @@
+package com.ironhack.lms.config;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldTimingInstrumentationTest {
+
+    static final String SDL = """
+            type Query { courses: [Course!]! }
+            type Course { id: ID!, lessons: [Lesson!]! }
+            type Lesson { id: ID! }
+            """;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    SqlStatementCounter sql = new SqlStatementCounter();
+    GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() {
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", t -> t.dataFetcher("courses", env -> {
+                    sql.inspect("select * from course");
+                    return List.of(Map.of("id", 1), Map.of("id", 2), Map.of("id", 3));
+                }))
+                .type("Course", t -> t.dataFetcher("lessons", env -> {
+                    sql.inspect("select * from lesson where course_id=?");
+                    return List.of(Map.of("id", 10));
+                }))
+                .build();
+        graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring))
+                .instrumentation(new FieldTimingInstrumentation(registry, sql, Set.of("Catalog")))
+                .build();
+    }
+
+    @Test
+    void records_field_latency_and_sql_per_coordinate() {
+        ExecutionResult result = run(false);
+
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+        assertNull(result.getExtensions());
+        assertEquals(3, registry.get("lms.graphql.field").tags("operation", "Catalog", "field", "Course.lessons").timer().count());
+        assertEquals(3.0, registry.get("lms.graphql.field.sql").tags("field", "Course.lessons").summary().totalAmount());
+        assertEquals(1.0, registry.get("lms.graphql.field.sql").tags("field", "Query.courses").summary().totalAmount());
+        assertEquals(4.0, registry.get("lms.graphql.operation.sql").tag("operation", "Catalog").summary().totalAmount());
+        assertEquals(1, registry.get("lms.graphql.operation").tag("operation", "Catalog").timer().count());
+        // property fetchers are not timed
+        assertTrue(registry.find("lms.graphql.field").tag("field", "Course.id").timers().isEmpty());
+    }
+
+    @Test
+    void unknown_operation_names_share_one_series() {
+        for (String name : List.of("Probe1", "Probe2", "Probe3")) {
+            graphQL.execute(ExecutionInput.newExecutionInput("query " + name + " { courses { id } }")
+                    .operationName(name)
+                    .graphQLContext(Map.of(FieldTimingInstrumentation.DEBUG_KEY, false))
+                    .build());
+        }
+
+        assertEquals(3, registry.get("lms.graphql.operation").tag("operation", "other").timer().count());
+        assertEquals(1, registry.find("lms.graphql.operation").timers().size());
+        assertTrue(registry.find("lms.graphql.field").tag("operation", "Probe1").timers().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void debug_flag_returns_timings_in_extensions() {
+        ExecutionResult result = run(true);
+
+        Map<String, Object> timing = (Map<String, Object>) result.getExtensions().get("timing");
+        assertEquals("Catalog", timing.get("operation"));
+        assertEquals(4L, timing.get("sqlStatements"));
+        Map<String, Map<String, Object>> fields = (Map<String, Map<String, Object>>) timing.get("fields");
+        assertEquals(3, fields.get("Course.lessons").get("count"));
+        assertEquals(3L, fields.get("Course.lessons").get("sqlStatements"));
+    }
+
+    private ExecutionResult run(boolean debug) {
+        return graphQL.execute(ExecutionInput.newExecutionInput("query Catalog { courses { id lessons { id } } }")
+                .operationName("Catalog")
+                .graphQLContext(Map.of(FieldTimingInstrumentation.DEBUG_KEY, debug))
+                .build());
+    }
+}
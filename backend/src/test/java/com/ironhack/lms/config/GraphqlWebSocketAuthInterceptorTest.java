@@ -0,0 +1,133 @@
+package com.ironhack.lms.config;
+
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.LmsPrincipal;
+import com.ironhack.lms.service.auth.TokenRevocationList;
+import graphql.ExecutionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.execution.SubscriptionPublisherException;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GraphqlWebSocketAuthInterceptorTest {
+
+    @Mock JwtAuthFilter jwtAuth;
+    @Mock JwtService jwt;
+    @Mock TokenRevocationList revocations;
+    @Mock WebSocketSessionInfo sessionInfo;
+
+    final Map<String, Object> attributes = new HashMap<>();
+    final LmsPrincipal student = new LmsPrincipal(20L, "student@lms.local", Role.STUDENT, 0);
+
+    @BeforeEach
+    void setup() {
+        when(sessionInfo.getAttributes()).thenReturn(attributes);
+        when(jwtAuth.authenticate("tok")).thenReturn(student);
+        when(jwt.extractTokenId("tok")).thenReturn(Optional.of("jti-1"));
+    }
+
+    @Test
+    void operation_after_expiry_runs_anonymous() {
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        when(jwt.extractExpiration("tok")).thenReturn(now.plusSeconds(60));
+        var interceptor = interceptor(Clock.fixed(now.plusSeconds(61), Clock.systemUTC().getZone()));
+        interceptor.handleConnectionInitialization(sessionInfo, Map.of("authToken", "tok")).block();
+        AtomicReference<Boolean> authenticated = new AtomicReference<>();
+
+        interceptor.intercept(request(), req -> {
+            authenticated.set(req.toExecutionInput().getGraphQLContext()
+                    .hasKey(GraphqlWebSocketAuthInterceptor.AUTHENTICATION));
+            return Mono.just(response(Map.of()));
+        }).block();
+
+        assertFalse(authenticated.get());
+        assertFalse(attributes.containsKey(GraphqlWebSocketAuthInterceptor.AUTHENTICATION));
+    }
+
+    @Test
+    void subscription_ends_at_the_first_event_after_logout() {
+        when(jwt.extractExpiration("tok")).thenReturn(Instant.now().plusSeconds(600));
+        var interceptor = interceptor(Clock.systemUTC());
+        interceptor.handleConnectionInitialization(sessionInfo, Map.of("authToken", "tok")).block();
+        Sinks.Many<Object> events = Sinks.many().multicast().directBestEffort();
+
+        Flux<?> stream = subscribe(interceptor, events.asFlux());
+        List<Object> seen = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        stream.subscribe(seen::add, error::set);
+        events.tryEmitNext("first");
+        when(revocations.isRevoked("jti-1")).thenReturn(true);
+        events.tryEmitNext("second");
+
+        assertEquals(List.of("first"), seen);
+        assertUnauthorized(error.get());
+    }
+
+    @Test
+    void subscription_ends_when_the_token_expires() {
+        when(jwt.extractExpiration("tok")).thenReturn(Instant.now().plusMillis(200));
+        var interceptor = interceptor(Clock.systemUTC());
+        interceptor.handleConnectionInitialization(sessionInfo, Map.of("authToken", "tok")).block();
+
+        Flux<?> stream = subscribe(interceptor, Flux.never());
+
+        assertUnauthorized(assertThrows(SubscriptionPublisherException.class,
+                () -> stream.blockLast(Duration.ofSeconds(5))));
+    }
+
+    private GraphqlWebSocketAuthInterceptor interceptor(Clock clock) {
+        return new GraphqlWebSocketAuthInterceptor(jwtAuth, jwt, revocations, clock);
+    }
+
+    private Flux<?> subscribe(GraphqlWebSocketAuthInterceptor interceptor, Flux<Object> events) {
+        WebGraphQlInterceptor.Chain chain = req -> Mono.just(response(events));
+        WebGraphQlResponse response = interceptor.intercept(request(), chain).block();
+        return Flux.from(response.getExecutionResult().<org.reactivestreams.Publisher<?>>getData());
+    }
+
+    private WebSocketGraphQlRequest request() {
+        return new WebSocketGraphQlRequest(URI.create("/graphql-ws"), new HttpHeaders(), new LinkedMultiValueMap<>(),
+                null, Map.of(), Map.of("query", "subscription { mySubmissionsReviewed { id } }"), "1",
+                Locale.ENGLISH, sessionInfo);
+    }
+
+    private WebGraphQlResponse response(Object data) {
+        return new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(
+                request().toExecutionInput(), ExecutionResult.newExecutionResult().data(data).build()));
+    }
+
+    private static void assertUnauthorized(Throwable error) {
+        SubscriptionPublisherException ex = assertInstanceOf(SubscriptionPublisherException.class, error);
+        assertEquals(ErrorType.UNAUTHORIZED, ex.getErrors().get(0).getErrorType());
+    }
+}
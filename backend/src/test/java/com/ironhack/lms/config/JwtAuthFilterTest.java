@@ -1,7 +1,11 @@
 package com.ironhack.lms.config;
 
 import com.ironhack.lms.service.auth.AppUserDetailsService;
+import com.ironhack.lms.domain.user.Role;
 import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.LmsPrincipal;
+import com.ironhack.lms.service.auth.TokenRevocationList;
+import com.ironhack.lms.service.auth.UserDirectory;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +21,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -31,6 +36,12 @@ class JwtAuthFilterTest {
     @Mock
     private AppUserDetailsService userDetailsService;
 
+    @Mock
+    private UserDirectory directory;
+
+    @Mock
+    private TokenRevocationList revocations;
+
     @Mock
     private HttpServletRequest request;
 
@@ -44,7 +55,7 @@ class JwtAuthFilterTest {
 
     @BeforeEach
     void setUp() {
-        filter = new JwtAuthFilter(jwtService, userDetailsService);
+        filter = new JwtAuthFilter(jwtService, userDetailsService, directory, revocations, true);
         SecurityContextHolder.clearContext();
     }
 
@@ -194,4 +205,86 @@ class JwtAuthFilterTest {
         verify(userDetailsService, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
     }
+
+    @Test
+    void doFilterInternal_withPrincipalClaims_shouldAuthenticateWithoutLookup() throws ServletException, IOException {
+        // Given
+        String token = "stateless-jwt-token";
+        LmsPrincipal principal = new LmsPrincipal(7L, "student@lms.local", Role.STUDENT, 0);
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
+        when(jwtService.extractPrincipal(token)).thenReturn(Optional.of(principal));
+        when(directory.isCurrent(principal)).thenReturn(true);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(jwtService, never()).extractUsername(any());
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication().getPrincipal() == principal;
+    }
+
+    @Test
+    void doFilterInternal_withStaleTokenVersion_shouldNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        String token = "stale-jwt-token";
+        LmsPrincipal principal = new LmsPrincipal(7L, "student@lms.local", Role.STUDENT, 0);
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
+        when(jwtService.extractPrincipal(token)).thenReturn(Optional.of(principal));
+        when(directory.isCurrent(principal)).thenReturn(false);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(jwtService, never()).extractUsername(any());
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() == null;
+    }
+
+    @Test
+    void doFilterInternal_statelessDisabled_shouldUseUserLookup() throws ServletException, IOException {
+        // Given
+        filter = new JwtAuthFilter(jwtService, userDetailsService, directory, revocations, false);
+        String token = "valid-jwt-token";
+        String username = "student@lms.local";
+        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
+                .username(username)
+                .password("password")
+                .authorities("ROLE_STUDENT")
+                .build();
+
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
+        when(jwtService.extractUsername(token)).thenReturn(username);
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(jwtService.isValid(token, userDetails)).thenReturn(true);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(jwtService, never()).extractPrincipal(any());
+        verify(userDetailsService).loadUserByUsername(username);
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() != null;
+    }
+
+    @Test
+    void doFilterInternal_withRevokedTokenId_shouldNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        String token = "logged-out-jwt-token";
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
+        when(jwtService.extractTokenId(token)).thenReturn(Optional.of("jti-1"));
+        when(revocations.isRevoked("jti-1")).thenReturn(true);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(jwtService, never()).extractPrincipal(any());
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() == null;
+    }
 }
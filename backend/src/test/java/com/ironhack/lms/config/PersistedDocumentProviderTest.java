@@ -0,0 +1,90 @@
+package com.ironhack.lms.config;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistedDocumentProviderTest {
+
+    static final String QUERY = "{ courses(page: 0, pageSize: 10) { content { id } } }";
+
+    AtomicInteger parses = new AtomicInteger();
+    Function<ExecutionInput, PreparsedDocumentEntry> parse = in -> {
+        parses.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(in.getQuery()));
+    };
+
+    PersistedDocumentProvider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        provider = new PersistedDocumentProvider(new SimpleMeterRegistry(), 100, false);
+        provider.loadAllowList();
+    }
+
+    @Test
+    void repeated_query_is_parsed_once() {
+        run(input(QUERY, null));
+        run(input(QUERY, null));
+
+        assertEquals(1, parses.get());
+    }
+
+    @Test
+    void unknown_hash_without_text_asks_for_the_query() {
+        PreparsedDocumentEntry entry = run(input("", PersistedDocumentProvider.sha256Hex(QUERY)));
+
+        assertTrue(entry.hasErrors());
+        assertEquals("PersistedQueryNotFound", entry.getErrors().get(0).getMessage());
+        assertEquals(0, parses.get());
+    }
+
+    @Test
+    void hash_registered_with_text_then_served_by_hash_alone() {
+        String hash = PersistedDocumentProvider.sha256Hex(QUERY);
+        run(input(QUERY, hash));
+
+        PreparsedDocumentEntry entry = run(input("", hash));
+
+        assertFalse(entry.hasErrors());
+        assertNotNull(entry.getDocument());
+        assertEquals(1, parses.get());
+    }
+
+    @Test
+    void mismatched_hash_is_rejected() {
+        PreparsedDocumentEntry entry = run(input(QUERY, "00ff"));
+
+        assertEquals("PersistedQueryIdInvalid", entry.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void allow_list_mode_refuses_unlisted_queries_before_parsing() throws Exception {
+        provider = new PersistedDocumentProvider(new SimpleMeterRegistry(), 100, true);
+        provider.loadAllowList();
+
+        PreparsedDocumentEntry entry = run(input(QUERY, null));
+
+        assertEquals("PersistedQueryNotAllowed", entry.getErrors().get(0).getMessage());
+        assertEquals(0, parses.get());
+    }
+
+    private PreparsedDocumentEntry run(ExecutionInput input) {
+        return provider.getDocumentAsync(input, parse).join();
+    }
+
+    private static ExecutionInput input(String query, String hash) {
+        var b = ExecutionInput.newExecutionInput().query(query);
+        if (hash != null) b.extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+        return b.build();
+    }
+}
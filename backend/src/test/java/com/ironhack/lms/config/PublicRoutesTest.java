@@ -0,0 +1,40 @@
+package com.ironhack.lms.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicRoutesTest {
+
+    @Test
+    void probes_are_public() {
+        assertTrue(PublicRoutes.ALL.matches(get("/api/health")));
+        assertTrue(PublicRoutes.ALL.matches(get("/actuator/health/liveness")));
+    }
+
+    @Test
+    void anonymous_catalog_reads_are_public() {
+        assertTrue(PublicRoutes.ALL.matches(get("/api/courses")));
+        assertTrue(PublicRoutes.ALL.matches(get("/api/courses/5")));
+    }
+
+    @Test
+    void catalog_reads_with_token_take_full_chain() {
+        MockHttpServletRequest req = get("/api/courses/5");
+        req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer abc");
+        assertFalse(PublicRoutes.ALL.matches(req));
+    }
+
+    @Test
+    void nested_and_write_routes_are_not_public() {
+        assertFalse(PublicRoutes.ALL.matches(get("/api/courses/5/lessons")));
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/courses");
+        assertFalse(PublicRoutes.ALL.matches(post));
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ironhack.lms.config;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCostInstrumentationTest {
+
+    static final String SDL = """
+            type Query { courses(page: Int, pageSize: Int): CoursePage, course(id: ID!): Course }
+            type CoursePage { content: [Course!]! }
+            type Course { id: ID!, title: String, lessons: [Lesson!]!, instructor: User }
+            type Lesson { id: ID!, course: Course }
+            type User { email: String }
+            """;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AtomicLong now = new AtomicLong(0);
+    GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() {
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(
+                new SchemaParser().parse(SDL), RuntimeWiring.MOCKED_WIRING);
+        QueryCostInstrumentation instrumentation = new QueryCostInstrumentation(
+                registry, 4, 500, 10, 1000, 300, Duration.ofMinutes(1), now::get);
+        graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build();
+    }
+
+    @Test
+    void page_size_multiplies_nested_selections() {
+        // courses 1 + content (1 + 20 * (id 1 + lessons (1 + 10 * id 1))) = 1 + 1 + 20 * 12 = 242
+        ExecutionResult result = run("{ courses(pageSize: 20) { content { id lessons { id } } } }", "user:a");
+
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+        assertEquals(242.0, registry.get("lms.graphql.query.cost").summary().totalAmount());
+    }
+
+    @Test
+    void too_deep_is_rejected_before_execution() {
+        ExecutionResult result = run("{ course(id: 1) { lessons { course { lessons { id } } } } }", "user:a");
+
+        assertEquals("MAX_DEPTH_EXCEEDED", code(result));
+        assertNull(result.getData());
+    }
+
+    @Test
+    void too_expensive_is_rejected() {
+        ExecutionResult result = run("{ courses(pageSize: 100) { content { lessons { id } } } }", "user:a");
+
+        assertEquals("MAX_COST_EXCEEDED", code(result));
+        assertEquals(1.0, registry.get("lms.graphql.query.rejected").tag("reason", "MAX_COST_EXCEEDED").counter().count());
+    }
+
+    @Test
+    void budget_is_per_client_and_recovers_over_the_window() {
+        String query = "{ courses(pageSize: 20) { content { id lessons { id } } } }"; // 242
+
+        assertTrue(run(query, "ip:1.2.3.4").getErrors().isEmpty());
+        ExecutionResult second = run(query, "ip:1.2.3.4");
+        assertEquals("COST_BUDGET_EXCEEDED", code(second));
+        assertNotNull(second.getErrors().get(0).getExtensions().get("retryAfterSeconds"));
+
+        assertTrue(run(query, "user:b").getErrors().isEmpty(), "other clients are unaffected");
+
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+        assertTrue(run(query, "ip:1.2.3.4").getErrors().isEmpty());
+    }
+
+    @Test
+    void introspection_is_free() {
+        ExecutionResult result = run("{ __schema { types { name fields { name } } } }", "anonymous");
+
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+    }
+
+    private ExecutionResult run(String query, String client) {
+        return graphQL.execute(ExecutionInput.newExecutionInput(query)
+                .graphQLContext(Map.of(GraphqlClientKeyInterceptor.CLIENT_KEY, client))
+                .build());
+    }
+
+    private static String code(ExecutionResult result) {
+        assertEquals(1, result.getErrors().size());
+        GraphQLError error = result.getErrors().get(0);
+        return (String) error.getExtensions().get("code");
+    }
+}
@@ -0,0 +1,82 @@
+package com.ironhack.lms.repository;
+
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.enrollment.Enrollment;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentSummary;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** myEnrollments without Course.description reads one joined projection and never the TEXT column. */
+@DataJpaTest(properties = RecordingStatementInspector.PROPERTY)
+@ActiveProfiles("test")
+class EnrollmentSummaryQueryTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired EnrollmentRepository enrollments;
+
+    Student student;
+
+    @BeforeEach
+    void seed() {
+        Instructor instructor = Instructor.builder()
+                .email("inst@lms.local").passwordHash("x").fullName("In Structor").role(Role.INSTRUCTOR)
+                .build();
+        em.persist(instructor);
+        student = Student.builder()
+                .email("stud@lms.local").passwordHash("x").fullName("Stu Dent").role(Role.STUDENT)
+                .build();
+        em.persist(student);
+        for (int i = 0; i < 3; i++) {
+            Course course = new Course();
+            course.setInstructor(instructor);
+            course.setTitle("Course " + i);
+            course.setDescription("long text " + i);
+            course.setStatus(CourseStatus.PUBLISHED);
+            em.persist(course);
+            Enrollment e = new Enrollment();
+            e.setStudent(student);
+            e.setCourse(course);
+            em.persist(e);
+        }
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void slice_reads_course_columns_without_description() {
+        Slice<EnrollmentSummary> slice = enrollments.findSummarySliceByStudent_Id(student.getId(), PageRequest.of(0, 2));
+
+        assertThat(slice.getContent()).hasSize(2);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.getContent()).allSatisfy(s -> assertThat(s.course().title()).startsWith("Course "));
+        assertThat(RecordingStatementInspector.statements())
+                .hasSize(1)
+                .noneMatch(s -> s.contains("description"));
+    }
+
+    @Test
+    void page_adds_only_the_count() {
+        Page<EnrollmentSummary> page = enrollments.findSummariesByStudent_Id(student.getId(), PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(RecordingStatementInspector.statements())
+                .hasSize(2)
+                .noneMatch(s -> s.contains("description"));
+    }
+}
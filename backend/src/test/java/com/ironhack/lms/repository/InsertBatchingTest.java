@@ -0,0 +1,66 @@
+package com.ironhack.lms.repository;
+
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Pooled ids let Hibernate queue INSERTs and send them in JDBC batches instead of one per row. */
+@DataJpaTest(properties = RecordingStatementInspector.PROPERTY)
+@ActiveProfiles("test")
+class InsertBatchingTest {
+
+    static final int ROWS = 120;
+
+    @Autowired TestEntityManager em;
+
+    @Test
+    void inserts_are_sent_in_batches_of_batch_size() {
+        Instructor instructor = Instructor.builder()
+                .email("batch@lms.local").passwordHash("x").fullName("Batch").role(Role.INSTRUCTOR)
+                .build();
+        em.persist(instructor);
+        Course course = new Course();
+        course.setInstructor(instructor);
+        course.setTitle("Import");
+        course.setStatus(CourseStatus.DRAFT);
+        em.persist(course);
+        em.flush();
+        RecordingStatementInspector.clear();
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < ROWS; i++) {
+            Lesson l = new Lesson();
+            l.setCourse(course);
+            l.setTitle("Lesson " + i);
+            l.setOrderIndex(i);
+            em.persist(l);
+            // the id is known at persist time; nothing has been sent yet
+            assertThat(l.getId()).isNotNull();
+            ids.add(l.getId());
+        }
+        List<String> beforeFlush = RecordingStatementInspector.statements();
+        em.flush();
+
+        assertThat(ids).hasSize(ROWS);
+        assertThat(beforeFlush).noneMatch(s -> s.startsWith("insert into lesson"));
+        List<String> inserts = RecordingStatementInspector.statements().stream()
+                .filter(s -> s.startsWith("insert into lesson"))
+                .toList();
+        // at most one prepared statement per batch of 50 (hibernate.jdbc.batch_size), never one per row
+        assertThat(inserts).hasSizeBetween(1, (ROWS + 49) / 50);
+    }
+}
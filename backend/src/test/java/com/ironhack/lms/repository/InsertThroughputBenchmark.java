@@ -0,0 +1,153 @@
+package com.ironhack.lms.repository;
+
+import com.ironhack.lms.domain.auth.RefreshToken;
+import com.ironhack.lms.domain.auth.RevokedAccessToken;
+import com.ironhack.lms.domain.course.Assignment;
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.enrollment.Enrollment;
+import com.ironhack.lms.domain.item.Item;
+import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.domain.user.User;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts/second for a bulk lesson import, with lesson ids from IDENTITY (one INSERT round-trip per row)
+ * and from the pooled-lo table generator (JDBC batches). Not part of the default test run: the class
+ * name is outside surefire's includes and it is tagged {@code benchmark}. Run it against MySQL with
+ * <pre>
+ * mvn test -Dtest=InsertThroughputBenchmark -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -Dbenchmark.url='jdbc:mysql://localhost:3306/lms_bench?createDatabaseIfNotExist=true&amp;rewriteBatchedStatements=true' \
+ *     -Dbenchmark.user=appuser -Dbenchmark.password=apppass
+ * </pre>
+ * The schema comes from the Flyway migrations; without {@code benchmark.url} it runs on in-memory H2.
+ * {@code benchmark.rows} (default 100000) sets the import size.
+ */
+@Tag("benchmark")
+class InsertThroughputBenchmark {
+
+    static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    static final int WARMUP_ROWS = 5_000;
+    // rows per persistence context before flush/clear, as a streaming import would do
+    static final int CHUNK = 1_000;
+
+    static final String URL = System.getProperty("benchmark.url",
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    static final String USER = System.getProperty("benchmark.user", "sa");
+    static final String PASSWORD = System.getProperty("benchmark.password", "");
+
+    @Test
+    void lesson_import_identity_vs_pooled_lo() {
+        Flyway.configure().dataSource(URL, USER, PASSWORD).load().migrate();
+
+        Map<String, Double> rowsPerSecond = new LinkedHashMap<>();
+        try (SessionFactory identity = sessionFactory(true); SessionFactory pooled = sessionFactory(false)) {
+            assertThat(lessonIdGenerator(identity)).isInstanceOf(IdentityGenerator.class);
+            assertThat(lessonIdGenerator(pooled)).isInstanceOf(TableGenerator.class);
+            importLessons(identity, WARMUP_ROWS);
+            rowsPerSecond.put("IDENTITY", importLessons(identity, ROWS));
+            // what V6 does when a database switches over: hand out ids past the ones IDENTITY used
+            pooled.inTransaction(s -> s.createNativeMutationQuery("""
+                    update id_generator set next_val = (select coalesce(max(id), 0) + 1 from lesson)
+                    where sequence_name = 'lesson'""").executeUpdate());
+            importLessons(pooled, WARMUP_ROWS);
+            rowsPerSecond.put("pooled-lo", importLessons(pooled, ROWS));
+        }
+
+        System.out.printf("%n%,d lesson rows on %s%n", ROWS, URL.replaceAll("\\?.*", ""));
+        rowsPerSecond.forEach((ids, rate) -> System.out.printf("  %-10s %,12.0f inserts/s%n", ids, rate));
+        System.out.printf("  speed-up   %12.1fx%n%n", rowsPerSecond.get("pooled-lo") / rowsPerSecond.get("IDENTITY"));
+    }
+
+    /** Imports {@code rows} lessons into a new course and returns rows per second (commit included). */
+    private static double importLessons(SessionFactory sf, int rows) {
+        Course course = sf.fromTransaction(s -> {
+            Instructor instructor = Instructor.builder()
+                    .email("bench-" + UUID.randomUUID() + "@lms.local").passwordHash("x").fullName("Bench")
+                    .role(Role.INSTRUCTOR)
+                    .build();
+            s.persist(instructor);
+            Course c = new Course();
+            c.setInstructor(instructor);
+            c.setTitle("Import");
+            c.setStatus(CourseStatus.DRAFT);
+            s.persist(c);
+            return c;
+        });
+
+        long start = System.nanoTime();
+        sf.inTransaction(s -> {
+            Course ref = s.getReference(Course.class, course.getId());
+            for (int i = 0; i < rows; i++) {
+                Lesson l = new Lesson();
+                l.setCourse(ref);
+                l.setTitle("Lesson " + i);
+                l.setOrderIndex(i);
+                s.persist(l);
+                if ((i + 1) % CHUNK == 0) {
+                    s.flush();
+                    s.clear();
+                    ref = s.getReference(Course.class, course.getId());
+                }
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long imported = sf.fromSession(s -> count(s, course.getId()));
+        assertThat(imported).isEqualTo(rows);
+        return rows / seconds;
+    }
+
+    private static Generator lessonIdGenerator(SessionFactory sf) {
+        return sf.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(Lesson.class).getGenerator();
+    }
+
+    private static long count(Session s, Long courseId) {
+        return s.createQuery("select count(l) from Lesson l where l.course.id = :id", Long.class)
+                .setParameter("id", courseId)
+                .getSingleResult();
+    }
+
+    // same batching settings as application.properties; identityIds swaps Lesson back to IDENTITY
+    private static SessionFactory sessionFactory(boolean identityIds) {
+        Configuration cfg = new Configuration()
+                .setProperty("hibernate.connection.url", URL)
+                .setProperty("hibernate.connection.username", USER)
+                .setProperty("hibernate.connection.password", PASSWORD)
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .setProperty("hibernate.jdbc.time_zone", "UTC")
+                .setProperty("hibernate.cache.use_second_level_cache", "false")
+                .setProperty("hibernate.cache.use_query_cache", "false");
+        for (Class<?> entity : new Class<?>[]{User.class, Student.class, Instructor.class, Course.class, Lesson.class,
+                Assignment.class, Item.class, Enrollment.class, Submission.class, RefreshToken.class,
+                RevokedAccessToken.class}) {
+            cfg.addAnnotatedClass(entity);
+        }
+        if (identityIds) cfg.addResource("benchmark/identity-ids-orm.xml");
+        return cfg.buildSessionFactory();
+    }
+}
@@ -0,0 +1,175 @@
+package com.ironhack.lms.repository;
+
+import com.ironhack.lms.domain.course.Assignment;
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.submission.SubmissionRepository;
+import com.ironhack.lms.repository.submission.SubmissionRow;
+import com.ironhack.lms.service.paging.Cursor;
+import com.ironhack.lms.service.paging.CursorPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks the keyset queries page by page: rows sharing a timestamp are split across pages by id
+ * without repeats or gaps, and the last page (full or not) reports no next cursor.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class KeysetPagingTest {
+
+    static final Instant T = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Autowired TestEntityManager em;
+    @Autowired CourseRepository courses;
+    @Autowired SubmissionRepository submissions;
+
+    Instructor instructor;
+
+    @BeforeEach
+    void seed() {
+        instructor = Instructor.builder()
+                .email("keyset@lms.local").passwordHash("x").fullName("Key Set").role(Role.INSTRUCTOR)
+                .build();
+        em.persist(instructor);
+    }
+
+    @Test
+    void course_ties_on_created_at_are_ordered_by_id_across_pages() {
+        List<Course> published = new ArrayList<>();
+        for (int i = 0; i < 3; i++) published.add(course(T, CourseStatus.PUBLISHED));
+        for (int i = 0; i < 2; i++) published.add(course(T.minus(1, ChronoUnit.HOURS), CourseStatus.PUBLISHED));
+        course(T, CourseStatus.DRAFT);
+        em.flush();
+        em.clear();
+
+        List<CursorPage<Course>> pages = walk(2,
+                limit -> courses.findByStatusOrderByCreatedAtDescIdDesc(CourseStatus.PUBLISHED, limit),
+                (c, limit) -> courses.findByStatusAfter(CourseStatus.PUBLISHED, c.instant(), c.id(), limit),
+                c -> Cursor.of(c.getCreatedAt(), c.getId()));
+
+        assertThat(pages).extracting(p -> p.content().size()).containsExactly(2, 2, 1);
+        assertThat(pages.stream().flatMap(p -> p.content().stream()).map(Course::getId))
+                .containsExactlyElementsOf(published.stream()
+                        .sorted(Comparator.comparing(Course::getCreatedAt).thenComparing(Course::getId).reversed())
+                        .map(Course::getId).toList());
+        assertLastPage(pages);
+    }
+
+    @Test
+    void full_last_page_has_no_next_cursor() {
+        for (int i = 0; i < 4; i++) course(T, CourseStatus.PUBLISHED);
+        em.flush();
+        em.clear();
+
+        List<CursorPage<Course>> pages = walk(2,
+                limit -> courses.findByStatusOrderByCreatedAtDescIdDesc(CourseStatus.PUBLISHED, limit),
+                (c, limit) -> courses.findByStatusAfter(CourseStatus.PUBLISHED, c.instant(), c.id(), limit),
+                c -> Cursor.of(c.getCreatedAt(), c.getId()));
+
+        assertThat(pages).extracting(p -> p.content().size()).containsExactly(2, 2);
+        assertLastPage(pages);
+    }
+
+    @Test
+    void submissions_with_equal_timestamps_page_by_id_within_the_course() {
+        Course course = course(T, CourseStatus.PUBLISHED);
+        Course other = course(T, CourseStatus.PUBLISHED);
+        Assignment assignment = assignment(course);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) ids.add(submission(assignment, course, student(i)).getId());
+        submission(assignment(other), other, student(9));
+        em.flush();
+        em.clear();
+
+        List<CursorPage<SubmissionRow>> pages = walk(3,
+                limit -> submissions.findRowsByCourseFirst(course.getId(), limit),
+                (c, limit) -> submissions.findRowsByCourseAfter(course.getId(), c.instant(), c.id(), limit),
+                s -> Cursor.of(s.submittedAt(), s.id()));
+
+        assertThat(pages).extracting(p -> p.content().size()).containsExactly(3, 1);
+        assertThat(pages.stream().flatMap(p -> p.content().stream()).map(SubmissionRow::id))
+                .containsExactlyElementsOf(ids.stream().sorted(Comparator.reverseOrder()).toList());
+        assertLastPage(pages);
+    }
+
+    private static <T> List<CursorPage<T>> walk(int first, Function<Pageable, List<T>> firstPage,
+                                                BiFunction<Cursor, Pageable, List<T>> after,
+                                                Function<T, Cursor> cursorOf) {
+        List<CursorPage<T>> pages = new ArrayList<>();
+        CursorPage<T> page = CursorPage.of(firstPage.apply(CursorPage.fetchSize(first)), first, cursorOf);
+        pages.add(page);
+        while (page.hasNext()) {
+            Cursor next = Cursor.decode(page.nextCursor());
+            page = CursorPage.of(after.apply(next, CursorPage.fetchSize(first)), first, cursorOf);
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    private static void assertLastPage(List<? extends CursorPage<?>> pages) {
+        CursorPage<?> last = pages.get(pages.size() - 1);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.nextCursor()).isNull();
+        assertThat(pages.subList(0, pages.size() - 1)).allMatch(p -> p.hasNext() && p.nextCursor() != null);
+    }
+
+    private Course course(Instant createdAt, CourseStatus status) {
+        Course c = new Course();
+        c.setInstructor(instructor);
+        c.setTitle("Course");
+        c.setStatus(status);
+        c.setCreatedAt(createdAt);
+        return em.persist(c);
+    }
+
+    private Assignment assignment(Course course) {
+        Lesson lesson = new Lesson();
+        lesson.setCourse(course);
+        lesson.setTitle("Lesson");
+        lesson.setOrderIndex(0);
+        em.persist(lesson);
+        Assignment a = new Assignment();
+        a.setLesson(lesson);
+        a.setTitle("Homework");
+        a.setMaxPoints(10);
+        return em.persist(a);
+    }
+
+    private Student student(int n) {
+        return em.persist(Student.builder()
+                .email("s" + n + "@lms.local").passwordHash("x").fullName("Student " + n).role(Role.STUDENT)
+                .build());
+    }
+
+    private Submission submission(Assignment assignment, Course course, Student student) {
+        Submission s = new Submission();
+        s.setAssignment(assignment);
+        s.setCourse(course);
+        s.setStudent(student);
+        s.setArtifactUrl("https://example.com/work");
+        s.setSubmittedAt(T);
+        return em.persist(s);
+    }
+}
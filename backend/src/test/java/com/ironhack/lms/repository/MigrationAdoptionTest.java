@@ -0,0 +1,102 @@
+package com.ironhack.lms.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database built by the pre-Flyway {@code ddl-auto=update} schema is baselined at version 1 and must
+ * end up with the same schema as a fresh install once V2+ have run, with existing rows carried along.
+ */
+class MigrationAdoptionTest {
+
+    @Test
+    void pre_flyway_database_is_adopted_and_migrated_to_the_fresh_schema() throws Exception {
+        DataSource adopted = h2();
+        try (Connection c = adopted.getConnection(); Statement st = c.createStatement()) {
+            for (String ddl : preFlywaySchema()) st.execute(ddl);
+            st.execute("insert into app_user (id, dtype, email, password_hash, full_name, role, created_at) values "
+                    + "(1, 'INSTRUCTOR', 'i@lms.local', 'x', 'I', 'INSTRUCTOR', now()),"
+                    + "(2, 'STUDENT', 's@lms.local', 'x', 'S', 'STUDENT', now())");
+            st.execute("insert into course (id, instructor_id, title, status, created_at) values (7, 1, 'C', 'PUBLISHED', now())");
+            st.execute("insert into lesson (id, course_id, title, order_index) values (3, 7, 'L', 0)");
+            st.execute("insert into assignment (id, lesson_id, title, max_points, allow_late) values (4, 3, 'A', 10, 0)");
+            st.execute("insert into submission (id, assignment_id, student_id, submitted_at, artifact_url, status, version) "
+                    + "values (5, 4, 2, now(), 'https://example.com', 'SUBMITTED', 1)");
+        }
+
+        flyway(adopted).migrate();
+
+        DataSource fresh = h2();
+        flyway(fresh).migrate();
+
+        assertThat(columns(adopted)).containsExactlyElementsOf(columns(fresh));
+        assertThat(indexes(adopted)).containsAll(indexes(fresh).stream().filter(i -> i.contains(".ix_")).toList());
+        assertThat(query(adopted, "select course_id from submission where id = 5")).isEqualTo("7");
+        assertThat(query(adopted, "select token_version from app_user where id = 2")).isEqualTo("0");
+        assertThat(query(adopted, "select next_val from id_generator where sequence_name = 'submission'")).isEqualTo("6");
+        assertThat(query(adopted, "select max(version) from flyway_schema_history"))
+                .isEqualTo(query(fresh, "select max(version) from flyway_schema_history"));
+    }
+
+    private static Flyway flyway(DataSource ds) {
+        return Flyway.configure().dataSource(ds).baselineOnMigrate(true).baselineVersion("1").load();
+    }
+
+    private static DataSource h2() {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+        return ds;
+    }
+
+    private static List<String> preFlywaySchema() throws IOException {
+        try (InputStream in = MigrationAdoptionTest.class.getResourceAsStream("/db/pre-flyway-schema.sql")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(l -> !l.isBlank() && !l.startsWith("--"))
+                    .map(l -> l.replaceAll(";$", ""))
+                    .toList();
+        }
+    }
+
+    /** table.column type nullability, in a stable order (Flyway's own history table left out). */
+    private static List<String> columns(DataSource ds) throws SQLException {
+        return rows(ds, """
+                select table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable
+                from information_schema.columns
+                where table_schema = 'public' and table_name <> 'flyway_schema_history'
+                order by table_name, column_name""");
+    }
+
+    private static List<String> indexes(DataSource ds) throws SQLException {
+        return rows(ds, """
+                select distinct table_name || '.' || index_name from information_schema.indexes
+                where table_schema = 'public' order by 1""");
+    }
+
+    private static String query(DataSource ds, String sql) throws SQLException {
+        return rows(ds, sql).get(0);
+    }
+
+    private static List<String> rows(DataSource ds, String sql) throws SQLException {
+        List<String> out = new ArrayList<>();
+        try (Connection c = ds.getConnection(); Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) out.add(rs.getString(1));
+        }
+        return out;
+    }
+}
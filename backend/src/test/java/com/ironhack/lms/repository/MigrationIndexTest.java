@@ -0,0 +1,165 @@
+package com.ironhack.lms.repository;
+
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.repository.course.AssignmentRepository;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.course.LessonRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.item.ItemRepository;
+import com.ironhack.lms.repository.submission.SubmissionRepository;
+import com.ironhack.lms.service.item.ItemSpecifications;
+import com.ironhack.lms.service.paging.Cursor;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the schema from the Flyway migrations (H2 in MySQL mode) and checks with EXPLAIN that the
+ * hot repository queries are answered from the intended index rather than a table scan.
+ */
+@DataJpaTest(properties = {
+        RecordingStatementInspector.PROPERTY,
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class MigrationIndexTest {
+
+    static final Timestamp NOW = Timestamp.from(Instant.parse("2025-06-01T00:00:00Z"));
+
+    @Autowired TestEntityManager em;
+    @Autowired CourseRepository courses;
+    @Autowired LessonRepository lessons;
+    @Autowired AssignmentRepository assignments;
+    @Autowired EnrollmentRepository enrollments;
+    @Autowired ItemRepository items;
+    @Autowired SubmissionRepository submissions;
+
+    @BeforeEach
+    void clear() {
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void catalog_keyset_uses_status_created_index() {
+        courses.findByStatusAfter(CourseStatus.PUBLISHED, NOW.toInstant(), 10L, PageRequest.of(0, 5));
+
+        assertThat(explainLast("from course", "PUBLISHED", NOW, NOW, NOW, 10L, 5))
+                .contains("ix_course_status_created");
+    }
+
+    @Test
+    void catalog_page_in_default_order_uses_status_created_index() {
+        courses.findByStatus(CourseStatus.PUBLISHED,
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+
+        assertThat(explainLast("from course", "PUBLISHED", 5))
+                .contains("ix_course_status_created: status = ?1");
+    }
+
+    @Test
+    void lesson_assignments_use_lesson_due_index() {
+        assignments.findByLesson_Id(1L);
+
+        // same FK-index caveat as the lessons
+        assertThat(indexColumns("assignment", "ix_assignment_lesson_due")).containsExactly("lesson_id", "due_at");
+        assertThat(explainLastUsing("from assignment", "ix_assignment_lesson_due", 1L))
+                .contains("ix_assignment_lesson_due: lesson_id = ?1");
+    }
+
+    @Test
+    void course_lessons_use_course_order_index() {
+        lessons.findByCourse_IdOrderByOrderIndexAsc(1L);
+
+        // H2 plans this on its own FK index on course_id, which MySQL does not keep
+        assertThat(indexColumns("lesson", "ix_lesson_course_order")).containsExactly("course_id", "order_index");
+        assertThat(explainLastUsing("from lesson", "ix_lesson_course_order", 1L))
+                .contains("ix_lesson_course_order: course_id = ?1");
+    }
+
+    @Test
+    void my_enrollments_keyset_uses_student_enrolled_index() {
+        enrollments.findByStudentAfter(1L, NOW.toInstant(), 10L, PageRequest.of(0, 5));
+
+        assertThat(explainLast("from enrollment", 1L, NOW, NOW, NOW, 10L, 5))
+                .contains("ix_enroll_student_enrolled");
+    }
+
+    @Test
+    void item_keyset_uses_updated_index() {
+        LocalDateTime updatedAt = NOW.toLocalDateTime();
+        items.findIds(ItemSpecifications.updatedBefore(Cursor.of(updatedAt, 10L)),
+                Sort.by(Sort.Direction.DESC, "updatedAt", "id"), 5);
+
+        assertThat(explainLast("from items", NOW, NOW, NOW, 10L, 5)).contains("ix_items_updated");
+    }
+
+    @Test
+    void course_submissions_keyset_uses_course_submitted_index() {
+        submissions.findRowsByCourseAfter(1L, NOW.toInstant(), 10L, PageRequest.of(0, 5));
+
+        assertThat(explainLast("from submission", 1L, NOW, NOW, NOW, 10L, 5))
+                .contains("ix_submission_course_submitted");
+    }
+
+    private List<String> indexColumns(String table, String index) {
+        return em.getEntityManager().createNativeQuery("""
+                        select column_name from information_schema.index_columns
+                        where table_name = ?1 and index_name = ?2 order by ordinal_position""")
+                .setParameter(1, table)
+                .setParameter(2, index)
+                .getResultList();
+    }
+
+    /**
+     * Like {@link #explainLast} but with the plan limited to {@code index}. For tables where H2 keeps its
+     * own single-column FK index next to ours (MySQL drops the implicit one once a composite index covers
+     * the FK), this shows the composite index exists and serves the query.
+     */
+    private String explainLastUsing(String from, String index, Object... params) {
+        String sql = lastStatement(from).replaceFirst(from + " (\\w+)", from + " $1 use index (" + index + ")");
+        return explain(sql, params);
+    }
+
+    /** EXPLAIN of the last statement reading {@code table}; params are bound in SQL order. */
+    private String explainLast(String from, Object... params) {
+        return explain(lastStatement(from), params);
+    }
+
+    private String lastStatement(String from) {
+        return RecordingStatementInspector.statements().stream()
+                .filter(s -> s.startsWith("select") && s.contains(from))
+                .reduce((a, b) -> b)
+                .orElseThrow();
+    }
+
+    private String explain(String sql, Object... params) {
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(params.length);
+        return em.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1).toLowerCase();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.ironhack.lms.repository;
+
+import com.ironhack.lms.domain.auth.RefreshToken;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.auth.RefreshTokenRepository;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Rotation reads the refresh token with a row lock, so two concurrent refreshes cannot both retire it. */
+@DataJpaTest(properties = RecordingStatementInspector.PROPERTY)
+@ActiveProfiles("test")
+class RefreshTokenLockTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired RefreshTokenRepository tokens;
+
+    @Test
+    void rotation_lookup_locks_the_row() {
+        Student student = Student.builder()
+                .email("lock@lms.local").passwordHash("x").fullName("Lock").role(Role.STUDENT)
+                .build();
+        em.persist(student);
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash("a".repeat(64));
+        token.setFamilyId("family");
+        token.setUser(student);
+        token.setExpiresAt(Instant.now().plusSeconds(60));
+        em.persist(token);
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.clear();
+
+        assertThat(tokens.findForUpdateByTokenHash("a".repeat(64))).isPresent();
+
+        assertThat(RecordingStatementInspector.statements())
+                .anyMatch(s -> s.contains("from refresh_token") && s.contains("for update"));
+    }
+}
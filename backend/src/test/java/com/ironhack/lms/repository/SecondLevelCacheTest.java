@@ -0,0 +1,151 @@
+package com.ironhack.lms.repository;
+
+import com.ironhack.lms.config.SecondLevelCacheRegions;
+import com.ironhack.lms.domain.course.Assignment;
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.repository.course.AssignmentRepository;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.course.LessonRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Course, lesson, assignment and user rows are read from the second-level cache once loaded, and
+ * cacheable queries are answered without SQL until one of their tables is written.
+ * Not transactional: cache entries and query invalidation only take effect on commit.
+ */
+@DataJpaTest(properties = {
+        RecordingStatementInspector.PROPERTY,
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"})
+@ActiveProfiles("test")
+@Import({SecondLevelCacheRegions.class, SecondLevelCacheTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired UserRepository users;
+    @Autowired CourseRepository courses;
+    @Autowired LessonRepository lessons;
+    @Autowired AssignmentRepository assignments;
+    @Autowired EntityManagerFactory emf;
+    @Autowired MeterRegistry meterRegistry;
+
+    Instructor instructor;
+    Course course;
+    Lesson lesson;
+    Assignment assignment;
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        instructor = users.save(Instructor.builder()
+                .email("l2@lms.local").passwordHash("x").fullName("Cache").role(Role.INSTRUCTOR)
+                .build());
+        course = new Course();
+        course.setInstructor(instructor);
+        course.setTitle("Cached");
+        course.setStatus(CourseStatus.PUBLISHED);
+        course = courses.save(course);
+        lesson = lesson(0);
+        assignment = new Assignment();
+        assignment.setLesson(lesson);
+        assignment.setTitle("Homework");
+        assignment.setMaxPoints(10);
+        assignment = assignments.save(assignment);
+        emf.getCache().evictAll();
+        // update timestamps have millisecond resolution; a query in the same millisecond as the
+        // setup commit would be treated as stale
+        Thread.sleep(5);
+        RecordingStatementInspector.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        assignments.deleteAll();
+        lessons.deleteAll();
+        courses.deleteAll();
+        users.deleteAll();
+    }
+
+    @Test
+    void entities_are_loaded_once() {
+        courses.findById(course.getId()).orElseThrow();
+        lessons.findById(lesson.getId()).orElseThrow();
+        assignments.findById(assignment.getId()).orElseThrow();
+        users.findById(instructor.getId()).orElseThrow();
+        assertThat(selects()).hasSize(4);
+
+        RecordingStatementInspector.clear();
+        Course cached = courses.findById(course.getId()).orElseThrow();
+        lessons.findById(lesson.getId()).orElseThrow();
+        assignments.findById(assignment.getId()).orElseThrow();
+        users.findById(instructor.getId()).orElseThrow();
+
+        assertThat(cached.getTitle()).isEqualTo("Cached");
+        assertThat(selects()).isEmpty();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "hibernate.course").tag("result", "hit")
+                .functionCounter().count()).isGreaterThan(0);
+    }
+
+    @Test
+    void cacheable_query_is_invalidated_by_a_write() {
+        assertThat(lessons.findByCourse_IdOrderByOrderIndexAsc(course.getId())).hasSize(1);
+        assertThat(courses.existsByIdAndInstructor_Id(course.getId(), instructor.getId())).isTrue();
+        assertThat(selects()).isNotEmpty();
+
+        RecordingStatementInspector.clear();
+        assertThat(lessons.findByCourse_IdOrderByOrderIndexAsc(course.getId())).hasSize(1);
+        assertThat(courses.existsByIdAndInstructor_Id(course.getId(), instructor.getId())).isTrue();
+        assertThat(selects()).isEmpty();
+
+        lesson(1);
+        RecordingStatementInspector.clear();
+        List<Lesson> reloaded = lessons.findByCourse_IdOrderByOrderIndexAsc(course.getId());
+
+        assertThat(reloaded).extracting(Lesson::getOrderIndex).containsExactly(0, 1);
+        assertThat(selects()).anyMatch(s -> s.contains("from lesson"));
+    }
+
+    private Lesson lesson(int orderIndex) {
+        Lesson l = new Lesson();
+        l.setCourse(course);
+        l.setTitle("Lesson " + orderIndex);
+        l.setOrderIndex(orderIndex);
+        return lessons.save(l);
+    }
+
+    private static List<String> selects() {
+        return RecordingStatementInspector.statements().stream()
+                .filter(s -> s.startsWith("select"))
+                .toList();
+    }
+}
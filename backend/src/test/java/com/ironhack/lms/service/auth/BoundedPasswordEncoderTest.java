@@ -0,0 +1,128 @@
+package com.ironhack.lms.service.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedPasswordEncoder encoder;
+
+    // delegate that blocks until the test releases it
+    PasswordEncoder slow = new PasswordEncoder() {
+        @Override public String encode(CharSequence raw) {
+            await();
+            return "hash:" + raw;
+        }
+        @Override public boolean matches(CharSequence raw, String encoded) {
+            await();
+            return encoded.equals("hash:" + raw);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) encoder.close();
+    }
+
+    @Test
+    void delegates_and_records_latency() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, Duration.ofSeconds(5), 2, registry);
+
+        assertEquals("hash:pw", encoder.encode("pw"));
+        assertTrue(encoder.matches("pw", "hash:pw"));
+        assertEquals(1, registry.get("lms.auth.hashing").tag("op", "encode").timer().count());
+        assertEquals(1, registry.get("lms.auth.hashing").tag("op", "matches").timer().count());
+    }
+
+    @Test
+    void saturated_pool_rejects_fast() throws Exception {
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, Duration.ofSeconds(5), 3, registry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        waitFor(() -> registry.get("lms.auth.hashing.active").gauge().value() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitFor(() -> registry.get("lms.auth.hashing.queue").gauge().value() == 1);
+
+        PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("lms.auth.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void waiting_past_max_wait_is_rejected() {
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, Duration.ofMillis(50), 2, registry);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("pw", "hash:pw"));
+    }
+
+    @Test
+    void work_ahead_longer_than_max_wait_is_refused_without_waiting() throws Exception {
+        PasswordEncoder hundredMillis = new PasswordEncoder() {
+            @Override public String encode(CharSequence raw) {
+                await();
+                sleep(100);
+                return "hash:" + raw;
+            }
+            @Override public boolean matches(CharSequence raw, String encoded) {
+                return encoded.equals(encode(raw));
+            }
+        };
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(hundredMillis, 1, 10, Duration.ofMillis(250), 2, registry);
+        encoder.encode("warm");   // sets the average hash time (~100ms)
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        waitFor(() -> registry.get("lms.auth.hashing.active").gauge().value() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitFor(() -> registry.get("lms.auth.hashing.queue").gauge().value() == 1);
+
+        // two hashes ahead on one worker: ~300ms > 250ms, so no thread is parked on it
+        long start = System.nanoTime();
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 50);
+
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void await() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("condition not reached");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.user.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    SimpleMeterRegistry registry;
+    JwtService jwt;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        jwt = new JwtService(registry);
+        ReflectionTestUtils.setField(jwt, "secret", "test-secret-32-characters-minimum-1234567890");
+        ReflectionTestUtils.setField(jwt, "expirationMin", 60L);
+        ReflectionTestUtils.setField(jwt, "verifiedCacheSize", 100L);
+        jwt.init();
+    }
+
+    @Test
+    void repeated_parse_verifies_once() {
+        String token = jwt.generateToken(new LmsPrincipal(7L, "student@lms.local", Role.STUDENT, 0));
+
+        assertEquals("student@lms.local", jwt.extractUsername(token));
+        assertEquals(7L, jwt.extractPrincipal(token).orElseThrow().id());
+        assertEquals("student@lms.local", jwt.extractUsername(token));
+
+        assertEquals(1.0, count("miss"));
+        assertEquals(2.0, count("hit"));
+    }
+
+    @Test
+    void tampered_token_rejected_and_not_cached() {
+        String token = jwt.generateToken(new LmsPrincipal(7L, "student@lms.local", Role.STUDENT, 0));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(Exception.class, () -> jwt.extractUsername(tampered));
+        assertThrows(Exception.class, () -> jwt.extractUsername(tampered));
+        assertEquals(2.0, count("miss"));
+        assertEquals(0.0, count("hit"));
+    }
+
+    private double count(String result) {
+        return registry.get("lms.jwt.verified.cache").tag("result", result).counter().count();
+    }
+}
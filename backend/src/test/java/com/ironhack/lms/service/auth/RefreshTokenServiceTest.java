@@ -0,0 +1,98 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.auth.RefreshToken;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.auth.RefreshTokenRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock(lenient = true) RefreshTokenRepository tokens;
+    @Mock(lenient = true) UserRepository users;
+
+    @InjectMocks RefreshTokenService service;
+
+    Student student;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(service, "refreshDays", 14L);
+        student = new Student();
+        student.setId(20L);
+        student.setEmail("student@lms.local");
+        student.setRole(Role.STUDENT);
+        when(users.getReferenceById(20L)).thenReturn(student);
+        when(tokens.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void rotate_retires_presented_token_and_keeps_family() {
+        String raw = service.issue(20L, 0);
+        RefreshToken stored = captureSaved();
+        when(tokens.findForUpdateByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        RefreshTokenService.Rotation rotation = service.rotate(raw);
+
+        assertNotEquals(raw, rotation.refreshToken());
+        assertSame(student, rotation.user());
+        assertNotNull(stored.getRevokedAt());
+        RefreshToken next = captureSaved();
+        assertEquals(stored.getFamilyId(), next.getFamilyId());
+        assertNull(next.getRevokedAt());
+    }
+
+    @Test
+    void reuse_of_retired_token_revokes_family() {
+        String raw = service.issue(20L, 0);
+        RefreshToken stored = captureSaved();
+        stored.setRevokedAt(Instant.now());
+        when(tokens.findForUpdateByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        var ex = assertThrows(ResponseStatusException.class, () -> service.rotate(raw));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        verify(tokens).revokeFamily(eq(stored.getFamilyId()), any());
+    }
+
+    @Test
+    void token_version_change_revokes_family() {
+        String raw = service.issue(20L, 0);
+        RefreshToken stored = captureSaved();
+        student.setTokenVersion(1); // password changed after login
+        when(tokens.findForUpdateByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        assertThrows(ResponseStatusException.class, () -> service.rotate(raw));
+        verify(tokens).revokeFamily(eq(stored.getFamilyId()), any());
+    }
+
+    @Test
+    void unknown_token_unauthorized() {
+        var ex = assertThrows(ResponseStatusException.class, () -> service.rotate("nope"));
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+    }
+
+    private RefreshToken captureSaved() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokens, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+    @Mock(lenient = true) UserRepository users;
+
+    UserDirectory directory;
+    Student student;
+
+    @BeforeEach
+    void setup() {
+        directory = new UserDirectory(users, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+        student = new Student();
+        student.setId(20L);
+        student.setEmail("student@lms.local");
+        student.setRole(Role.STUDENT);
+        when(users.findByEmail(student.getEmail())).thenReturn(Optional.of(student));
+    }
+
+    @Test
+    void repeated_lookups_hit_db_once() {
+        assertEquals(20L, directory.principal("student@lms.local").orElseThrow().id());
+        assertEquals(20L, directory.principal("student@lms.local").orElseThrow().id());
+
+        verify(users, times(1)).findByEmail("student@lms.local");
+    }
+
+    @Test
+    void unknown_email_not_cached() {
+        assertTrue(directory.find("ghost@lms.local").isEmpty());
+        assertTrue(directory.find("ghost@lms.local").isEmpty());
+
+        verify(users, times(2)).findByEmail("ghost@lms.local");
+    }
+
+    @Test
+    void invalidate_picks_up_new_token_version() {
+        LmsPrincipal issued = directory.principal("student@lms.local").orElseThrow();
+        assertTrue(directory.isCurrent(issued));
+
+        student.setTokenVersion(1); // e.g. password changed
+        assertTrue(directory.isCurrent(issued)); // still cached
+        directory.invalidate("student@lms.local");
+
+        assertFalse(directory.isCurrent(issued));
+    }
+}
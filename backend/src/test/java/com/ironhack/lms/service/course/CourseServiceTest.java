@@ -6,15 +6,22 @@ import com.ironhack.lms.domain.user.Role;
 import com.ironhack.lms.repository.course.AssignmentRepository;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.course.LessonRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
 import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.UserDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.ironhack.lms.web.course.dto.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -30,8 +37,12 @@ class CourseServiceTest {
     @Mock(lenient = true) LessonRepository lessons;
     @Mock(lenient = true) AssignmentRepository assignments;
     @Mock(lenient = true) UserRepository users;
+    @Mock(lenient = true) EnrollmentRepository enrollments;
+    @Mock ApplicationEventPublisher events;
 
-    @InjectMocks CourseService service;
+    UserDirectory directory;
+    CourseCatalogCache catalog;
+    CourseService service;
 
     Instructor owner;
     Course course;
@@ -39,6 +50,10 @@ class CourseServiceTest {
 
     @BeforeEach
     void setUp() {
+        directory = new UserDirectory(users, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        catalog = new CourseCatalogCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        service = new CourseService(courses, lessons, assignments, users, directory, enrollments, catalog, events);
+
         owner = new Instructor();
         owner.setId(10L);
         owner.setEmail("owner@lms.local");
@@ -94,6 +109,57 @@ class CourseServiceTest {
         verify(courses).delete(course);
     }
 
+    @Test
+    void listPublished_served_from_cache_until_course_changes() {
+        when(courses.findByStatus(eq(CourseStatus.PUBLISHED), any()))
+                .thenAnswer(inv -> new PageImpl<>(List.of(course), inv.getArgument(1), 1));
+        var page = PageRequest.of(0, 10);
+
+        assertEquals(1, service.listPublished(page).getTotalElements());
+        assertEquals(1, service.listPublished(page).getTotalElements());
+        verify(courses, times(1)).findByStatus(eq(CourseStatus.PUBLISHED), any());
+
+        catalog.onCourseChanged(new CourseChangedEvent(100L));
+        service.listPublished(page);
+        verify(courses, times(2)).findByStatus(eq(CourseStatus.PUBLISHED), any());
+    }
+
+    @Test
+    void listPublishedSummaries_from_warm_catalog_page_drops_descriptions() {
+        course.setDescription("long text");
+        when(courses.findByStatus(eq(CourseStatus.PUBLISHED), any()))
+                .thenAnswer(inv -> new PageImpl<>(List.of(course), inv.getArgument(1), 1));
+        var page = PageRequest.of(0, 10);
+        assertEquals("long text", service.listPublished(page).getContent().get(0).description());
+
+        var summaries = service.listPublishedSummaries(page);
+
+        assertEquals(100L, summaries.getContent().get(0).id());
+        assertNull(summaries.getContent().get(0).description());
+        verify(courses, never()).findSummariesByStatus(any(), any());
+        // the cached page itself still carries the description
+        assertEquals("long text", service.listPublished(page).getContent().get(0).description());
+    }
+
+    @Test
+    void listPublished_without_sort_reads_newest_first() {
+        when(courses.findByStatus(eq(CourseStatus.PUBLISHED), any()))
+                .thenAnswer(inv -> new PageImpl<>(List.of(course), inv.getArgument(1), 1));
+
+        service.listPublished(PageRequest.of(0, 10));
+
+        verify(courses).findByStatus(CourseStatus.PUBLISHED, PageRequest.of(0, 10, CourseService.NEWEST_FIRST));
+    }
+
+    @Test
+    void updateCourse_publishes_change_event() {
+        when(courses.save(any(Course.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.updateCourse(100L, new CourseUpdateRequest("T", "D", CourseStatus.PUBLISHED), ownerAuth);
+
+        verify(events).publishEvent(new CourseChangedEvent(100L));
+    }
+
     @Test
     void getForRead_published_works() {
         var result = service.getForRead(100L, null);
@@ -211,4 +277,23 @@ class CourseServiceTest {
         assertEquals(1, result.size());
         assertEquals("HW1", result.get(0).title());
     }
+
+    @Test
+    void batchLessons_oneQuery_hidesOtherInstructorsDrafts() {
+        Lesson l1 = new Lesson();
+        l1.setId(1L);
+        l1.setCourse(course);
+        l1.setTitle("Lesson 1");
+        when(lessons.findByCourse_IdInOrderByOrderIndexAsc(anyCollection())).thenReturn(List.of(l1));
+
+        var refs = List.of(
+                new CourseService.CourseRef(100L, 10L, CourseStatus.PUBLISHED),
+                new CourseService.CourseRef(200L, 99L, CourseStatus.DRAFT));
+        var result = service.listLessonsForRead(refs, ownerAuth);
+
+        assertEquals(1, result.get(100L).size());
+        assertTrue(result.get(200L).isEmpty());
+        verify(lessons).findByCourse_IdInOrderByOrderIndexAsc(argThat(ids -> ids.size() == 1 && ids.contains(100L)));
+        verify(courses, never()).findById(anyLong());
+    }
 }
@@ -9,11 +9,13 @@ import com.ironhack.lms.domain.user.Role;
 import com.ironhack.lms.domain.user.Student;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.user.StudentRepository;
 import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.UserDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
@@ -22,6 +24,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -35,8 +38,10 @@ class EnrollmentServiceTest {
     @Mock(lenient = true) EnrollmentRepository enrollments;
     @Mock(lenient = true) CourseRepository courses;
     @Mock(lenient = true) UserRepository users;
+    @Mock(lenient = true) StudentRepository students;
 
-    @InjectMocks EnrollmentService service;
+    UserDirectory directory;
+    EnrollmentService service;
 
     Student student;
     Course course;
@@ -48,6 +53,9 @@ class EnrollmentServiceTest {
 
     @BeforeEach
     void setup() {
+        directory = new UserDirectory(users, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        service = new EnrollmentService(enrollments, courses, students, directory);
+
         student = new Student();
         student.setId(20L);
         student.setEmail("student@lms.local");
@@ -70,6 +78,7 @@ class EnrollmentServiceTest {
         course.setInstructor(instructor);
 
         when(users.findByEmail(student.getEmail())).thenReturn(Optional.of(student));
+        when(students.getReferenceById(20L)).thenReturn(student);
         when(users.findByEmail(instructor.getEmail())).thenReturn(Optional.of(instructor));
         when(users.findByEmail(admin.getEmail())).thenReturn(Optional.of(admin));
         when(courses.findById(100L)).thenReturn(Optional.of(course));
@@ -0,0 +1,137 @@
+package com.ironhack.lms.service.item;
+
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.item.Item;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.repository.course.LessonRepository;
+import com.ironhack.lms.repository.item.ItemRepository;
+import com.ironhack.lms.repository.item.ItemSummary;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Guards the SQL shape of item search: LIMIT on an id-only query, never on the tags fetch join. */
+@DataJpaTest(properties = RecordingStatementInspector.PROPERTY)
+@ActiveProfiles("test")
+class ItemSearchQueryTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired ItemRepository items;
+    @Autowired LessonRepository lessons;
+
+    ItemService service;
+
+    @BeforeEach
+    void seed() {
+        service = new ItemService(items, lessons, null, null, null);
+
+        Instructor instructor = Instructor.builder()
+                .email("inst@lms.local").passwordHash("x").fullName("In Structor").role(Role.INSTRUCTOR)
+                .build();
+        em.persist(instructor);
+        Course course = new Course();
+        course.setInstructor(instructor);
+        course.setTitle("Course");
+        course.setStatus(CourseStatus.PUBLISHED);
+        em.persist(course);
+
+        persistItem(course, 1, "Java basics", Set.of("java", "intro"));
+        persistItem(course, 2, "Streams", Set.of("java", "fp", "collections"));
+        persistItem(course, 3, "Generics in Java", Set.of("types"));
+        persistItem(course, 4, "Unrelated", Set.of("sql"));
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void pages_over_ids_then_fetches_only_that_page() {
+        Page<Item> page = service.searchEntities("java", PageRequest.of(0, 2, Sort.by("updatedAt").descending()));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).allSatisfy(i -> assertThat(i.getTags()).isNotEmpty());
+
+        List<String> sql = RecordingStatementInspector.statements();
+        // id page + count + one bulk fetch; nothing lazy afterwards
+        assertThat(sql).hasSize(3);
+        List<String> limited = sql.stream().filter(ItemSearchQueryTest::hasRowLimit).toList();
+        assertThat(limited).hasSize(1);
+        assertThat(limited.get(0)).doesNotContain("distinct").doesNotContain("left join item_tags");
+        String fetch = sql.stream().filter(s -> s.contains("left join item_tags")).findFirst().orElseThrow();
+        assertThat(hasRowLimit(fetch)).isFalse();
+        assertThat(fetch).contains(" in (");
+    }
+
+    @Test
+    void slice_mode_skips_count_and_reads_one_extra_id() {
+        Slice<Item> slice = service.searchEntitiesSlice("java", PageRequest.of(0, 2, Sort.by("updatedAt").descending()));
+
+        assertThat(slice.getContent()).hasSize(2);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(RecordingStatementInspector.statements()).hasSize(2).noneMatch(s -> s.contains("count("));
+    }
+
+    @Test
+    void keeps_requested_order_across_phases() {
+        Page<Item> page = service.searchEntities("java", PageRequest.of(0, 10, Sort.by("updatedAt").descending()));
+
+        List<Long> ids = page.getContent().stream().map(Item::getId).toList();
+        List<Long> expected = ids.stream().sorted(java.util.Comparator.reverseOrder()).toList();
+        assertThat(ids).hasSize(3).isEqualTo(expected);
+    }
+
+    @Test
+    void summaries_never_read_the_body() {
+        Slice<ItemSummary> slice = service.searchSummaries("java", PageRequest.of(0, 10, Sort.by("updatedAt").descending()),
+                false, true);
+
+        assertThat(slice.getContent()).hasSize(3);
+        assertThat(slice.getContent().get(0).tags()).isNotEmpty();
+        List<String> sql = RecordingStatementInspector.statements();
+        // id slice + summary columns + tags
+        assertThat(sql).hasSize(3).noneMatch(s -> s.contains("body_markdown"));
+    }
+
+    @Test
+    void summaries_skip_tags_when_not_selected() {
+        service.searchSummaries("java", PageRequest.of(0, 10), false, false);
+
+        // id slice + summary columns; the search predicate's tag subquery is the only item_tags access
+        assertThat(RecordingStatementInspector.statements()).hasSize(2);
+    }
+
+    private void persistItem(Course course, int order, String title, Set<String> tags) {
+        Lesson lesson = new Lesson();
+        lesson.setCourse(course);
+        lesson.setTitle("Lesson " + order);
+        lesson.setOrderIndex(order);
+        em.persist(lesson);
+        Item item = new Item();
+        item.setLesson(lesson);
+        item.setTitle(title);
+        item.setBodyMarkdown("body");
+        item.getTags().addAll(tags);
+        em.persist(item);
+    }
+
+    private static boolean hasRowLimit(String sql) {
+        return sql.contains(" limit ") || sql.contains(" fetch first ") || sql.contains(" offset ");
+    }
+}
@@ -0,0 +1,59 @@
+package com.ironhack.lms.service.paging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageTest {
+
+    record Row(long id, Instant at) {}
+
+    @Test
+    void cursor_round_trips() {
+        Instant at = Instant.parse("2025-03-01T10:15:30.123456Z");
+        Cursor c = Cursor.decode(Cursor.of(at, 42L).encode());
+
+        assertEquals(at, c.instant());
+        assertEquals(42L, c.id());
+    }
+
+    @Test
+    void blank_cursor_means_first_page() {
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+    }
+
+    @Test
+    void garbage_cursor_is_bad_request() {
+        var ex = assertThrows(ResponseStatusException.class, () -> Cursor.decode("not-a-cursor"));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void extra_row_signals_next_page() {
+        Instant t = Instant.parse("2025-01-01T00:00:00Z");
+        List<Row> rows = List.of(new Row(3, t), new Row(2, t), new Row(1, t));
+
+        CursorPage<Row> page = CursorPage.of(rows, 2, r -> Cursor.of(r.at(), r.id()));
+
+        assertEquals(2, page.content().size());
+        assertTrue(page.hasNext());
+        assertEquals(2L, Cursor.decode(page.nextCursor()).id());
+        assertEquals(3, CursorPage.fetchSize(2).getPageSize());
+    }
+
+    @Test
+    void last_page_has_no_next_cursor() {
+        Instant t = Instant.parse("2025-01-01T00:00:00Z");
+        CursorPage<Row> page = CursorPage.of(List.of(new Row(1, t)), 2, r -> Cursor.of(r.at(), r.id()));
+
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+        assertEquals(1, page.cursors().size());
+    }
+}
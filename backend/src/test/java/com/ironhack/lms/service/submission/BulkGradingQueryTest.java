@@ -0,0 +1,145 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.course.Assignment;
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.course.AssignmentRepository;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.submission.SubmissionRepository;
+import com.ironhack.lms.repository.user.StudentRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.UserDirectory;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import com.ironhack.lms.web.submission.dto.BulkGradeItem;
+import com.ironhack.lms.web.submission.dto.BulkGradeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Bulk grading cost must not grow with the cohort: fixed reads, UPDATEs sent in JDBC batches. */
+@DataJpaTest(properties = RecordingStatementInspector.PROPERTY)
+@ActiveProfiles("test")
+class BulkGradingQueryTest {
+
+    static final int COHORT = 120;
+
+    @Autowired TestEntityManager em;
+    @Autowired SubmissionRepository submissions;
+    @Autowired AssignmentRepository assignments;
+    @Autowired EnrollmentRepository enrollments;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+    @Autowired UserRepository users;
+
+    SubmissionService service;
+    Course course;
+    List<Long> submissionIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        UserDirectory directory = new UserDirectory(users, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        service = new SubmissionService(submissions, assignments, enrollments, courses, students, directory, e -> {}, null);
+
+        Instructor instructor = Instructor.builder()
+                .email("bulk@lms.local").passwordHash("x").fullName("Bulk Grader").role(Role.INSTRUCTOR)
+                .build();
+        em.persist(instructor);
+        course = new Course();
+        course.setInstructor(instructor);
+        course.setTitle("Cohort");
+        course.setStatus(CourseStatus.PUBLISHED);
+        em.persist(course);
+        Lesson lesson = new Lesson();
+        lesson.setCourse(course);
+        lesson.setTitle("Week 1");
+        lesson.setOrderIndex(1);
+        em.persist(lesson);
+        Assignment hw = new Assignment();
+        hw.setLesson(lesson);
+        hw.setTitle("Homework");
+        hw.setMaxPoints(100);
+        em.persist(hw);
+
+        for (int i = 0; i < COHORT; i++) {
+            Student student = Student.builder()
+                    .email("cohort" + i + "@lms.local").passwordHash("x").fullName("Student " + i).role(Role.STUDENT)
+                    .build();
+            em.persist(student);
+            Submission s = new Submission();
+            s.setAssignment(hw);
+            s.setStudent(student);
+            s.setArtifactUrl("https://repo/" + i);
+            s.setSubmittedAt(Instant.now());
+            em.persist(s);
+            submissionIds.add(s.getId());
+        }
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void grades_a_cohort_with_constant_reads_and_batched_updates() {
+        List<BulkGradeItem> grades = submissionIds.stream().map(id -> new BulkGradeItem(id, 80, "ok")).toList();
+
+        BulkGradeResponse response = service.gradeMany(course.getId(), grades, auth());
+        em.flush();
+
+        assertThat(response.graded()).isEqualTo(COHORT);
+        List<String> sql = RecordingStatementInspector.statements();
+        List<String> reads = sql.stream().filter(s -> s.startsWith("select")).toList();
+        List<String> updates = sql.stream().filter(s -> s.startsWith("update")).toList();
+        // user lookup + course ownership + one read for every submission
+        assertThat(reads).hasSizeLessThanOrEqualTo(3);
+        // one prepared UPDATE per JDBC batch (batch_size=50), not one per row
+        assertThat(updates).hasSizeLessThanOrEqualTo((COHORT + 49) / 50);
+
+        em.clear();
+        assertThat(submissions.findById(submissionIds.get(0)).orElseThrow().getStatus()).isEqualTo(SubmissionStatus.GRADED);
+    }
+
+    @Test
+    void bad_items_are_reported_and_the_rest_are_graded() {
+        Long first = submissionIds.get(0);
+        Long second = submissionIds.get(1);
+        List<BulkGradeItem> grades = List.of(
+                new BulkGradeItem(first, 101, null),
+                new BulkGradeItem(second, 50, null),
+                new BulkGradeItem(second, 60, null),
+                new BulkGradeItem(-1L, 10, null));
+
+        BulkGradeResponse response = service.gradeMany(course.getId(), grades, auth());
+
+        assertThat(response.results()).extracting(BulkGradeResponse.Result::outcome).containsExactly(
+                BulkGradeResponse.Outcome.INVALID_SCORE,
+                BulkGradeResponse.Outcome.GRADED,
+                BulkGradeResponse.Outcome.DUPLICATE,
+                BulkGradeResponse.Outcome.NOT_FOUND);
+        assertThat(response.graded()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.results().get(1).submission().score()).isEqualTo(50);
+    }
+
+    private static TestingAuthenticationToken auth() {
+        return new TestingAuthenticationToken("bulk@lms.local", "x");
+    }
+}
@@ -0,0 +1,192 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.course.Assignment;
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.enrollment.Enrollment;
+import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
+import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.course.AssignmentRepository;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.course.GradebookColumn;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.submission.SubmissionRepository;
+import com.ironhack.lms.repository.user.StudentRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.UserDirectory;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** The gradebook is one ordered query pivoted on the fly; students without work still get a row. */
+@DataJpaTest(properties = RecordingStatementInspector.PROPERTY)
+@ActiveProfiles("test")
+class GradebookQueryTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired SubmissionRepository submissions;
+    @Autowired AssignmentRepository assignments;
+    @Autowired EnrollmentRepository enrollments;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+    @Autowired UserRepository users;
+
+    SubmissionService service;
+    Course course;
+    Assignment first;
+    Assignment second;
+
+    @BeforeEach
+    void seed() {
+        UserDirectory directory = new UserDirectory(users, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        service = new SubmissionService(submissions, assignments, enrollments, courses, students, directory, e -> {}, null);
+
+        Instructor instructor = Instructor.builder()
+                .email("book@lms.local").passwordHash("x").fullName("Book Keeper").role(Role.INSTRUCTOR)
+                .build();
+        em.persist(instructor);
+        course = new Course();
+        course.setInstructor(instructor);
+        course.setTitle("Gradebook");
+        course.setStatus(CourseStatus.PUBLISHED);
+        em.persist(course);
+        Lesson week2 = lesson(2);
+        Lesson week1 = lesson(1);
+        second = assignment(week2, "Project, part 2");
+        first = assignment(week1, "Quiz");
+
+        Student ann = student("ann@lms.local", "Ann");
+        Student bob = student("bob@lms.local", "Bob");
+        Student gone = student("gone@lms.local", "Cid");
+        enroll(ann, EnrollmentStatus.ACTIVE);
+        enroll(bob, EnrollmentStatus.ACTIVE);
+        enroll(gone, EnrollmentStatus.CANCELLED);
+        submit(ann, first, 9, SubmissionStatus.GRADED);
+        submit(ann, second, null, SubmissionStatus.SUBMITTED);
+
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void ndjson_has_one_line_per_enrolled_student_in_column_order() throws Exception {
+        List<GradebookColumn> columns = service.gradebookColumns(course.getId(), auth());
+        RecordingStatementInspector.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int rows = service.writeGradebook(course.getId(), columns, GradebookFormat.NDJSON, out);
+
+        assertThat(columns).extracting(GradebookColumn::assignmentId).containsExactly(first.getId(), second.getId());
+        assertThat(rows).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"studentId\":").contains("\"fullName\":\"Ann\"")
+                .contains("{\"assignmentId\":" + first.getId() + ",\"score\":9,\"status\":\"GRADED\"}")
+                .contains("{\"assignmentId\":" + second.getId() + ",\"score\":null,\"status\":\"SUBMITTED\"}");
+        assertThat(lines[1]).contains("\"fullName\":\"Bob\"").doesNotContain("GRADED");
+        assertThat(RecordingStatementInspector.statements()).hasSize(1);
+    }
+
+    @Test
+    void csv_has_a_header_and_blank_cells_for_ungraded_work() throws Exception {
+        List<GradebookColumn> columns = service.gradebookColumns(course.getId(), auth());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeGradebook(course.getId(), columns, GradebookFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("student_id,email,full_name,Quiz (/10),\"Project, part 2 (/10)\"");
+        assertThat(lines[1]).endsWith(",ann@lms.local,Ann,9,");
+        assertThat(lines[2]).endsWith(",bob@lms.local,Bob,,");
+    }
+
+    @Test
+    void csv_neutralises_cells_that_would_run_as_formulas() {
+        assertThat(GradebookWriter.Csv.escape("=HYPERLINK(\"http://x\",\"y\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"");
+        assertThat(GradebookWriter.Csv.escape("+1")).isEqualTo("\"'+1\"");
+        assertThat(GradebookWriter.Csv.escape("-2+3")).isEqualTo("\"'-2+3\"");
+        assertThat(GradebookWriter.Csv.escape("@SUM(A1)")).isEqualTo("\"'@SUM(A1)\"");
+        assertThat(GradebookWriter.Csv.escape("Ann = Bob")).isEqualTo("Ann = Bob");
+    }
+
+    @Test
+    void other_instructor_is_forbidden() {
+        Instructor other = Instructor.builder()
+                .email("other@lms.local").passwordHash("x").fullName("Other").role(Role.INSTRUCTOR)
+                .build();
+        em.persist(other);
+
+        assertThatThrownBy(() -> service.gradebookColumns(course.getId(), new TestingAuthenticationToken("other@lms.local", "x")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+    }
+
+    private Lesson lesson(int order) {
+        Lesson l = new Lesson();
+        l.setCourse(course);
+        l.setTitle("Week " + order);
+        l.setOrderIndex(order);
+        em.persist(l);
+        return l;
+    }
+
+    private Assignment assignment(Lesson lesson, String title) {
+        Assignment a = new Assignment();
+        a.setLesson(lesson);
+        a.setTitle(title);
+        a.setMaxPoints(10);
+        em.persist(a);
+        return a;
+    }
+
+    private Student student(String email, String name) {
+        Student s = Student.builder().email(email).passwordHash("x").fullName(name).role(Role.STUDENT).build();
+        em.persist(s);
+        return s;
+    }
+
+    private void enroll(Student student, EnrollmentStatus status) {
+        Enrollment e = new Enrollment();
+        e.setCourse(course);
+        e.setStudent(student);
+        e.setStatus(status);
+        em.persist(e);
+    }
+
+    private void submit(Student student, Assignment assignment, Integer score, SubmissionStatus status) {
+        Submission s = new Submission();
+        s.setAssignment(assignment);
+        s.setStudent(student);
+        s.setArtifactUrl("https://repo/" + student.getId());
+        s.setScore(score);
+        s.setStatus(status);
+        em.persist(s);
+    }
+
+    private static TestingAuthenticationToken auth() {
+        return new TestingAuthenticationToken("book@lms.local", "x");
+    }
+}
@@ -0,0 +1,90 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+import com.ironhack.lms.web.submission.dto.SubmissionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionEventBusTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    SubmissionEventBus bus = new SubmissionEventBus(registry, 2);
+
+    @Test
+    void slow_subscriber_drops_its_oldest_events_without_blocking_others() {
+        Collector slow = new Collector(0);
+        Collector fast = new Collector(Long.MAX_VALUE);
+        bus.stream(e -> true).subscribe(slow);
+        bus.stream(e -> true).subscribe(fast);
+
+        for (long id = 1; id <= 5; id++) bus.onSubmissionChanged(event(id));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), fast.ids);
+        assertTrue(slow.ids.isEmpty());
+        slow.request(10);
+        assertEquals(List.of(4L, 5L), slow.ids);
+        assertEquals(3.0, registry.get("lms.submissions.events.dropped").counter().count());
+        assertEquals(2.0, registry.get("lms.submissions.events.subscribers").gauge().value());
+    }
+
+    @Test
+    void filtered_out_events_do_not_take_buffer_slots() {
+        Collector slow = new Collector(0);
+        bus.stream(e -> e.submission().courseId() == 1L).subscribe(slow);
+
+        bus.onSubmissionChanged(event(1));
+        for (long id = 2; id <= 10; id++) bus.onSubmissionChanged(event(id, 2L));
+        bus.onSubmissionChanged(event(11));
+        slow.request(10);
+
+        assertEquals(List.of(1L, 11L), slow.ids);
+        assertEquals(0.0, registry.get("lms.submissions.events.dropped").counter().count());
+    }
+
+    @Test
+    void events_without_subscribers_are_discarded() {
+        bus.onSubmissionChanged(event(1));
+
+        Collector late = new Collector(Long.MAX_VALUE);
+        bus.stream(e -> true).subscribe(late);
+        bus.onSubmissionChanged(event(2));
+
+        assertEquals(List.of(2L), late.ids);
+    }
+
+    private static SubmissionChangedEvent event(long id) {
+        return event(id, 1L);
+    }
+
+    private static SubmissionChangedEvent event(long id, long courseId) {
+        return new SubmissionChangedEvent(SubmissionChangedEvent.Kind.SUBMITTED,
+                new SubmissionResponse(id, 1L, courseId, 1L, Instant.now(), "url", SubmissionStatus.SUBMITTED, null, null, 1));
+    }
+
+    static class Collector extends BaseSubscriber<SubmissionChangedEvent> {
+        final List<Long> ids = new CopyOnWriteArrayList<>();
+        final long initialDemand;
+
+        Collector(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialDemand > 0) subscription.request(initialDemand);
+        }
+
+        @Override
+        protected void hookOnNext(SubmissionChangedEvent value) {
+            ids.add(value.submission().id());
+        }
+    }
+}
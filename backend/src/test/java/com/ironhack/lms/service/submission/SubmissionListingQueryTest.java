@@ -0,0 +1,154 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.course.Assignment;
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.course.AssignmentRepository;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.submission.SubmissionRepository;
+import com.ironhack.lms.repository.user.StudentRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.UserDirectory;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import com.ironhack.lms.web.submission.dto.SubmissionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Submission listings cost the same number of statements whatever the page size: no joins, no lazy loads per row. */
+@DataJpaTest(properties = RecordingStatementInspector.PROPERTY)
+@ActiveProfiles("test")
+class SubmissionListingQueryTest {
+
+    static final int SUBMISSIONS = 8;
+
+    @Autowired TestEntityManager em;
+    @Autowired SubmissionRepository submissions;
+    @Autowired AssignmentRepository assignments;
+    @Autowired EnrollmentRepository enrollments;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+    @Autowired UserRepository users;
+
+    SubmissionService service;
+    Course course;
+    TestingAuthenticationToken studentAuth = new TestingAuthenticationToken("lister@lms.local", "x");
+    TestingAuthenticationToken instructorAuth = new TestingAuthenticationToken("owner@lms.local", "x");
+
+    @BeforeEach
+    void seed() {
+        UserDirectory directory = new UserDirectory(users, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        service = new SubmissionService(submissions, assignments, enrollments, courses, students, directory, e -> {}, null);
+
+        Instructor instructor = Instructor.builder()
+                .email("owner@lms.local").passwordHash("x").fullName("Owner").role(Role.INSTRUCTOR)
+                .build();
+        em.persist(instructor);
+        Student student = Student.builder()
+                .email("lister@lms.local").passwordHash("x").fullName("Lister").role(Role.STUDENT)
+                .build();
+        em.persist(student);
+        course = new Course();
+        course.setInstructor(instructor);
+        course.setTitle("Listings");
+        course.setStatus(CourseStatus.PUBLISHED);
+        em.persist(course);
+
+        // one lesson and assignment per submission, so per-row lazy loads could not hide in the session
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            Lesson lesson = new Lesson();
+            lesson.setCourse(course);
+            lesson.setTitle("Lesson " + i);
+            lesson.setOrderIndex(i);
+            em.persist(lesson);
+            Assignment a = new Assignment();
+            a.setLesson(lesson);
+            a.setTitle("Assignment " + i);
+            a.setMaxPoints(10);
+            em.persist(a);
+            Submission s = new Submission();
+            s.setAssignment(a);
+            s.setStudent(student);
+            s.setArtifactUrl("https://repo/" + i);
+            s.setSubmittedAt(t0.plusSeconds(i));
+            em.persist(s);
+        }
+        em.flush();
+        em.clear();
+
+        // resolve both principals once so the directory lookup is not part of what is measured
+        service.mySubmissions(studentAuth, PageRequest.of(0, 1));
+        service.listByCourse(course.getId(), instructorAuth, PageRequest.of(0, 1));
+        em.clear();
+    }
+
+    @Test
+    void mySubmissions_is_page_plus_count_for_any_page_size() {
+        for (int size : new int[]{2, 7}) {
+            RecordingStatementInspector.clear();
+
+            Page<SubmissionResponse> page = service.mySubmissions(studentAuth, PageRequest.of(0, size, Sort.by("submittedAt")));
+
+            assertThat(page.getContent()).hasSize(size);
+            assertThat(page.getTotalElements()).isEqualTo(SUBMISSIONS);
+            assertThat(page.getContent()).allSatisfy(r -> assertThat(r.courseId()).isEqualTo(course.getId()));
+            assertThat(RecordingStatementInspector.statements()).hasSize(2);
+        }
+    }
+
+    @Test
+    void listByCourse_is_ownership_check_page_and_count_for_any_page_size() {
+        for (int size : new int[]{2, 7}) {
+            RecordingStatementInspector.clear();
+
+            Page<SubmissionResponse> page = service.listByCourse(course.getId(), instructorAuth, PageRequest.of(0, size));
+
+            assertThat(page.getContent()).hasSize(size);
+            assertThat(page.getTotalElements()).isEqualTo(SUBMISSIONS);
+            assertThat(page.getContent()).allSatisfy(r -> {
+                assertThat(r.courseId()).isEqualTo(course.getId());
+                assertThat(r.assignmentId()).isNotNull();
+            });
+            assertThat(RecordingStatementInspector.statements()).hasSize(3);
+            // course_id lives on submission: filter, order and count never leave that table
+            assertThat(RecordingStatementInspector.statements())
+                    .filteredOn(q -> q.contains("from submission"))
+                    .hasSize(2)
+                    .noneMatch(q -> q.contains(" join "));
+        }
+    }
+
+    @Test
+    void slices_and_cursors_are_a_single_select() {
+        RecordingStatementInspector.clear();
+        assertThat(service.mySubmissionsSlice(studentAuth, PageRequest.of(0, 5)).getContent()).hasSize(5);
+        assertThat(RecordingStatementInspector.statements()).hasSize(1);
+
+        RecordingStatementInspector.clear();
+        var first = service.mySubmissionsAfter(studentAuth, "", 5);
+        var next = service.mySubmissionsAfter(studentAuth, first.nextCursor(), 5);
+        assertThat(first.content()).hasSize(5);
+        assertThat(next.content()).hasSize(SUBMISSIONS - 5);
+        assertThat(RecordingStatementInspector.statements()).hasSize(2);
+    }
+}
@@ -8,16 +8,22 @@ import com.ironhack.lms.repository.course.AssignmentRepository;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
 import com.ironhack.lms.repository.submission.SubmissionRepository;
+import com.ironhack.lms.repository.submission.SubmissionRow;
+import com.ironhack.lms.repository.user.StudentRepository;
 import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.UserDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.ironhack.lms.web.submission.dto.BulkGradeItem;
 import com.ironhack.lms.web.submission.dto.GradeRequest;
 import com.ironhack.lms.web.submission.dto.ResubmitRequest;
 import com.ironhack.lms.web.submission.dto.SubmissionCreateRequest;
+import com.ironhack.lms.web.submission.dto.SubmissionResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,9 +31,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,8 +48,11 @@ class SubmissionServiceTest {
     @Mock(lenient = true) EnrollmentRepository enrollments;
     @Mock(lenient = true) CourseRepository courses;
     @Mock(lenient = true) UserRepository users;
+    @Mock(lenient = true) StudentRepository students;
 
-    @InjectMocks SubmissionService service;
+    UserDirectory directory;
+    SubmissionEventBus bus;
+    SubmissionService service;
 
     Student student;
     Instructor instr;
@@ -53,6 +64,14 @@ class SubmissionServiceTest {
 
     @BeforeEach
     void setup() {
+        directory = new UserDirectory(users, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        bus = new SubmissionEventBus(new SimpleMeterRegistry(), 16);
+        // no transaction in these tests: deliver straight to the bus
+        ApplicationEventPublisher events = e -> {
+            if (e instanceof SubmissionChangedEvent changed) bus.onSubmissionChanged(changed);
+        };
+        service = new SubmissionService(submissions, assignments, enrollments, courses, students, directory, events, bus);
+
         // users
         student = new Student();
         student.setId(30L);
@@ -87,6 +106,7 @@ class SubmissionServiceTest {
 
         // mocks
         when(users.findByEmail(student.getEmail())).thenReturn(Optional.of(student));
+        when(students.getReferenceById(30L)).thenReturn(student);
         when(users.findByEmail(instr.getEmail())).thenReturn(Optional.of(instr));
         when(assignments.findById(300L)).thenReturn(Optional.of(hw));
 
@@ -109,7 +129,7 @@ class SubmissionServiceTest {
         assertEquals(1, dto.version());
 
         // second submit -> version 2
-        var existing = new Submission(); existing.setId(1L); existing.setAssignment(hw); existing.setStudent(student); existing.setVersion(1);
+        var existing = new Submission(); existing.setId(1L); existing.setAssignment(hw); existing.setCourse(course); existing.setStudent(student); existing.setVersion(1);
         when(submissions.findByAssignment_IdAndStudent_Id(300L, 30L)).thenReturn(Optional.of(existing));
         dto = service.submit(300L, new SubmissionCreateRequest("https://repo2"), studentAuth);
         assertEquals(2, dto.version());
@@ -127,7 +147,7 @@ class SubmissionServiceTest {
 
     @Test
     void grade_scoreOutOfRange_400() {
-        var s = new Submission(); s.setId(1L); s.setAssignment(hw); s.setStudent(student); s.setVersion(1);
+        var s = new Submission(); s.setId(1L); s.setAssignment(hw); s.setCourse(course); s.setStudent(student); s.setVersion(1);
         when(submissions.findById(1L)).thenReturn(Optional.of(s));
         when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(true);
 
@@ -138,7 +158,7 @@ class SubmissionServiceTest {
 
     @Test
     void grade_byStudent_forbidden_403() {
-        var s = new Submission(); s.setId(1L); s.setAssignment(hw); s.setStudent(student);
+        var s = new Submission(); s.setId(1L); s.setAssignment(hw); s.setCourse(course); s.setStudent(student);
         when(submissions.findById(1L)).thenReturn(Optional.of(s));
 
         // deny instructor check
@@ -154,31 +174,13 @@ class SubmissionServiceTest {
         // instructor owns course 200
         when(courses.existsByIdAndInstructor_Id(200L, instr.getId())).thenReturn(true);
 
-        // --- build nested relation: Assignment -> Lesson -> Course ---
-        var course = new Course();
-        course.setId(200L);
-
-        var lesson = new Lesson();
-        lesson.setId(10L);
-        lesson.setCourse(course);
-
-        var hw = new Assignment();
-        hw.setId(99L);
-        hw.setLesson(lesson);
-        hw.setMaxPoints(100);
-
-        var submission = new Submission();
-        submission.setId(1L);
-        submission.setAssignment(hw);
-        submission.setStudent(student);
-        submission.setSubmittedAt(Instant.now());
-        submission.setArtifactUrl("http://example.com/artifact");
-        submission.setStatus(SubmissionStatus.SUBMITTED);
-        submission.setVersion(1);
+        // the projection query resolves the course id in SQL
+        var row = new SubmissionRow(1L, 99L, 200L, 30L, Instant.now(), "http://example.com/artifact",
+                SubmissionStatus.SUBMITTED, null, null, 1);
 
         // repo path and Pageable matcher
-        when(submissions.findByAssignment_Lesson_Course_Id(eq(200L), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(submission)));
+        when(submissions.findRowsByCourseId(eq(200L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(row)));
 
         var result = service.listByCourse(200L, instrAuth, PageRequest.of(0, 10));
 
@@ -192,17 +194,11 @@ class SubmissionServiceTest {
 
     @Test
     void mySubmissions_student_works() {
-        Submission submission = new Submission();
-        submission.setId(1L);
-        submission.setAssignment(hw);
-        submission.setStudent(student);
-        submission.setSubmittedAt(Instant.now());
-        submission.setArtifactUrl("http://example.com/artifact");
-        submission.setStatus(SubmissionStatus.SUBMITTED);
-        submission.setVersion(1);
-
-        when(submissions.findByStudent_Id(eq(30L), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(List.of(submission)));
+        var row = new SubmissionRow(1L, 300L, 200L, 30L, Instant.now(), "http://example.com/artifact",
+                SubmissionStatus.SUBMITTED, null, null, 1);
+
+        when(submissions.findRowsByStudentId(eq(30L), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(row)));
 
         var result = service.mySubmissions(studentAuth, PageRequest.of(0, 10));
         assertNotNull(result);
@@ -222,6 +218,7 @@ class SubmissionServiceTest {
         var s = new Submission(); 
         s.setId(1L); 
         s.setAssignment(hw); 
+        s.setCourse(course);
         s.setStudent(student); 
         s.setStatus(SubmissionStatus.SUBMITTED);
         s.setVersion(1);
@@ -241,6 +238,7 @@ class SubmissionServiceTest {
         var s = new Submission(); 
         s.setId(1L); 
         s.setAssignment(hw); 
+        s.setCourse(course);
         s.setStudent(student);
         
         when(submissions.findById(1L)).thenReturn(Optional.of(s));
@@ -259,4 +257,75 @@ class SubmissionServiceTest {
                 () -> service.requestResubmission(999L, new ResubmitRequest("test"), instrAuth));
         assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
     }
+
+    @Test
+    void gradeMany_otherInstructorsCourse_forbidden_withoutLoadingRows() {
+        when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(false);
+
+        var ex = assertThrows(ResponseStatusException.class,
+                () -> service.gradeMany(200L, List.of(new BulkGradeItem(1L, 50, null)), instrAuth));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+        verify(submissions, never()).findForGrading(any(), any());
+    }
+
+    @Test
+    void gradeMany_checks_access_once_for_the_whole_batch() {
+        var a = new Submission(); a.setId(1L); a.setAssignment(hw); a.setCourse(course); a.setStudent(student); a.setVersion(1);
+        var b = new Submission(); b.setId(2L); b.setAssignment(hw); b.setCourse(course); b.setStudent(student); b.setVersion(1);
+        when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(true);
+        when(submissions.findForGrading(eq(200L), any())).thenReturn(List.of(a, b));
+
+        var res = service.gradeMany(200L, List.of(new BulkGradeItem(1L, 80, "ok"), new BulkGradeItem(2L, 90, null)), instrAuth);
+
+        assertEquals(2, res.graded());
+        assertEquals(SubmissionStatus.GRADED, b.getStatus());
+        verify(courses, times(1)).existsByIdAndInstructor_Id(200L, 40L);
+        verify(submissions, never()).save(any());
+    }
+
+    @Test
+    void submissionGraded_delivers_only_the_callers_reviews() {
+        var mine = new Submission(); mine.setId(1L); mine.setAssignment(hw); mine.setCourse(course); mine.setStudent(student); mine.setVersion(1);
+        var other = new Student(); other.setId(31L);
+        var theirs = new Submission(); theirs.setId(2L); theirs.setAssignment(hw); theirs.setCourse(course); theirs.setStudent(other); theirs.setVersion(1);
+        when(submissions.findById(1L)).thenReturn(Optional.of(mine));
+        when(submissions.findById(2L)).thenReturn(Optional.of(theirs));
+        when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(true);
+        when(submissions.save(any(Submission.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        List<SubmissionResponse> seen = new CopyOnWriteArrayList<>();
+        var subscription = service.mySubmissionsReviewed(studentAuth).subscribe(seen::add);
+        service.grade(2L, new GradeRequest(70, "theirs"), instrAuth);
+        service.grade(1L, new GradeRequest(90, "mine"), instrAuth);
+        service.requestResubmission(1L, new ResubmitRequest("again"), instrAuth);
+        subscription.dispose();
+
+        assertEquals(List.of(SubmissionStatus.GRADED, SubmissionStatus.RESUBMIT_REQUESTED),
+                seen.stream().map(SubmissionResponse::status).toList());
+        assertTrue(seen.stream().allMatch(r -> r.id().equals(1L)));
+    }
+
+    @Test
+    void submissionCreated_streams_course_submissions_to_its_instructor() {
+        when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(true);
+        when(enrollments.existsByCourse_IdAndStudent_Id(200L, 30L)).thenReturn(true);
+        when(submissions.findByAssignment_IdAndStudent_Id(300L, 30L)).thenReturn(Optional.empty());
+        when(submissions.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<SubmissionResponse> seen = new CopyOnWriteArrayList<>();
+        var subscription = service.submissionsCreated(200L, instrAuth).subscribe(seen::add);
+        service.submit(300L, new SubmissionCreateRequest("https://repo"), studentAuth);
+        subscription.dispose();
+
+        assertEquals(1, seen.size());
+        assertEquals(200L, seen.get(0).courseId());
+    }
+
+    @Test
+    void submissionCreated_other_instructors_course_forbidden() {
+        when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(false);
+
+        var ex = assertThrows(ResponseStatusException.class, () -> service.submissionsCreated(200L, instrAuth));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+    }
 }
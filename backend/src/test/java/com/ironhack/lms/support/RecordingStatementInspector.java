@@ -0,0 +1,32 @@
+package com.ironhack.lms.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares. Enable with {@link #PROPERTY} on the test context,
+ * {@link #clear()} before the call under test, then assert on {@link #statements()}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.ironhack.lms.support.RecordingStatementInspector";
+
+    private static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        SQL.add(sql.toLowerCase());
+        return sql;
+    }
+
+    public static void clear() {
+        SQL.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(SQL);
+    }
+}
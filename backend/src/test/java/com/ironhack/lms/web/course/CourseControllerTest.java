@@ -3,6 +3,7 @@ package com.ironhack.lms.web.course;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ironhack.lms.domain.course.CourseStatus;
 import com.ironhack.lms.service.course.CourseService;
+import com.ironhack.lms.service.paging.CursorPage;
 import com.ironhack.lms.web.course.dto.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -59,6 +61,20 @@ class CourseControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(1));
     }
 
+    @Test
+    void listPublishedAfter_withoutAfter_returnsFirstPage() throws Exception {
+        CourseResponse response = new CourseResponse(1L, 10L, "Spring Boot 101", "Learn Spring Boot",
+                CourseStatus.PUBLISHED, Instant.now(), Instant.now());
+        when(service.listPublishedAfter(isNull(), eq(5)))
+                .thenReturn(new CursorPage<>(List.of(response), List.of("c1"), "c1", true));
+
+        mockMvc.perform(get("/api/courses").param("first", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("c1"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     @Test
     void get_shouldReturnCourse() throws Exception {
         CourseResponse response = new CourseResponse(1L, 10L, "Spring Boot 101", "Learn Spring Boot",
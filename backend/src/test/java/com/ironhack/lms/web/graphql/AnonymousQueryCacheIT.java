@@ -0,0 +1,132 @@
+package com.ironhack.lms.web.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.service.course.CourseChangedEvent;
+import com.ironhack.lms.service.course.CourseContentChangedEvent;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = RecordingStatementInspector.PROPERTY)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnonymousQueryCacheIT {
+
+    static final String CATALOG = "{ courses(page: 0, pageSize: 5) { content { id title lessons { title } } } }";
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired ApplicationEventPublisher events;
+
+    @BeforeEach
+    void reset() {
+        events.publishEvent(new CourseChangedEvent(null));
+    }
+
+    @Test
+    void repeated_anonymous_catalog_query_runs_no_sql() throws Exception {
+        String first = graphql(CATALOG, null);
+        RecordingStatementInspector.clear();
+
+        String second = graphql(CATALOG, null);
+
+        assertThat(second).isEqualTo(first).contains("lessons");
+        assertThat(RecordingStatementInspector.statements()).isEmpty();
+    }
+
+    @Test
+    void lesson_write_event_drops_cached_results() throws Exception {
+        graphql(CATALOG, null);
+        events.publishEvent(new CourseContentChangedEvent(1L));
+        RecordingStatementInspector.clear();
+
+        graphql(CATALOG, null);
+
+        assertThat(RecordingStatementInspector.statements()).isNotEmpty();
+    }
+
+    @Test
+    void queries_reaching_items_are_not_cached() throws Exception {
+        String query = "{ courses(page: 0, pageSize: 5) { content { lessons { item { title } } } } }";
+        graphql(query, null);
+        RecordingStatementInspector.clear();
+
+        graphql(query, null);
+
+        assertThat(RecordingStatementInspector.statements()).isNotEmpty();
+    }
+
+    @Test
+    void signed_in_callers_bypass_the_cache() throws Exception {
+        graphql(CATALOG, null);
+        String token = login();
+        RecordingStatementInspector.clear();
+
+        graphql(CATALOG, token);
+
+        assertThat(RecordingStatementInspector.statements()).isNotEmpty();
+    }
+
+    @Test
+    void hash_only_queries_are_cached_per_persisted_hash() throws Exception {
+        String titles = "{ courses(page: 0, pageSize: 5) { content { title } } }";
+        String ids = "{ courses(page: 0, pageSize: 5) { content { id } } }";
+        graphql(Map.of("query", titles, "extensions", persistedQuery(titles)), null);
+        graphql(Map.of("query", ids, "extensions", persistedQuery(ids)), null);
+
+        // Apollo's hash-only form: no query at all, both unnamed and without variables
+        String first = graphql(Map.of("extensions", persistedQuery(titles)), null);
+        String second = graphql(Map.of("extensions", persistedQuery(ids)), null);
+
+        assertThat(first).contains("\"title\"").doesNotContain("\"id\"");
+        assertThat(second).contains("\"id\"").doesNotContain("\"title\"");
+    }
+
+    private String graphql(String query, String token) throws Exception {
+        return graphql(Map.of("query", query), token);
+    }
+
+    private String graphql(Map<String, Object> request, String token) throws Exception {
+        MockHttpServletRequestBuilder req = post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(request));
+        if (token != null) req.header("Authorization", "Bearer " + token);
+        MvcResult result = mvc.perform(req).andReturn();
+        if (result.getRequest().isAsyncStarted()) result = mvc.perform(asyncDispatch(result)).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        String body = result.getResponse().getContentAsString();
+        assertThat(om.readTree(body).has("errors")).as(body).isFalse();
+        return body;
+    }
+
+    private static Map<String, Object> persistedQuery(String query) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", HexFormat.of().formatHex(digest)));
+    }
+
+    private String login() throws Exception {
+        String json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(Map.of("email", "student@lms.local", "password", "password"))))
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+}
@@ -0,0 +1,131 @@
+package com.ironhack.lms.web.graphql;
+
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.course.Lesson;
+import com.ironhack.lms.domain.item.Item;
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.course.LessonRepository;
+import com.ironhack.lms.repository.item.ItemRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * N+1 guard: per-parent fields must resolve with one IN query per type, however many parents.
+ * Requests go through /graphql so resolvers see the anonymous caller the security filters set up.
+ */
+@SpringBootTest(properties = RecordingStatementInspector.PROPERTY)
+@AutoConfigureMockMvc
+@AutoConfigureHttpGraphQlTester
+@ActiveProfiles("test")
+class GraphqlBatchingIT {
+
+    @Autowired HttpGraphQlTester graphQl;
+    @Autowired UserRepository users;
+    @Autowired CourseRepository courses;
+    @Autowired LessonRepository lessons;
+    @Autowired ItemRepository items;
+
+    private static boolean seeded;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) return;
+        for (int i = 0; i < 3; i++) {
+            Instructor instructor = users.save(Instructor.builder()
+                    .email("batch" + i + "@lms.local").passwordHash("x").fullName("Batch " + i)
+                    .role(Role.INSTRUCTOR).build());
+            for (int c = 0; c < 2; c++) {
+                Course course = new Course();
+                course.setInstructor(instructor);
+                course.setTitle("Batch course " + i + "-" + c);
+                course.setStatus(CourseStatus.PUBLISHED);
+                course.setPublishedAt(Instant.now());
+                course = courses.save(course);
+                for (int l = 0; l < 2; l++) {
+                    Lesson lesson = new Lesson();
+                    lesson.setCourse(course);
+                    lesson.setTitle("Lesson " + l);
+                    lesson.setOrderIndex(l);
+                    lesson = lessons.save(lesson);
+                    Item item = new Item();
+                    item.setLesson(lesson);
+                    item.setTitle("Item " + l);
+                    item.setBodyMarkdown("body");
+                    item.getTags().add("t" + l);
+                    items.save(item);
+                }
+            }
+        }
+        seeded = true;
+    }
+
+    @Test
+    void course_instructors_load_in_one_query() {
+        RecordingStatementInspector.clear();
+
+        List<String> emails = graphQl.document("""
+                { courses(page: 0, pageSize: 50) { content { id instructor { email } } } }
+                """)
+                .execute()
+                .path("courses.content[*].instructor.email").entityList(String.class).get();
+
+        assertThat(emails).hasSizeGreaterThanOrEqualTo(6);
+        assertThat(statementsOn("app_user")).hasSize(1);
+    }
+
+    @Test
+    void lesson_course_and_item_load_in_one_query_each() {
+        RecordingStatementInspector.clear();
+
+        List<String> itemTitles = graphQl.document("""
+                { courses(page: 0, pageSize: 50) {
+                    content { lessons { id course { id } item { title tags } } }
+                } }
+                """)
+                .execute()
+                .path("courses.content[*].lessons[*].item.title").entityList(String.class).get();
+
+        assertThat(itemTitles).hasSizeGreaterThanOrEqualTo(12);
+        assertThat(statementsOn("items")).hasSize(1);
+        assertThat(statementsOn("course")).filteredOn(s -> s.contains(" in (")).hasSize(1);
+        assertThat(statementsOn("course")).noneMatch(s -> s.contains(".id=?"));
+    }
+
+    @Test
+    void course_lessons_and_assignments_load_in_one_query_each() {
+        RecordingStatementInspector.clear();
+
+        graphQl.document("""
+                { courses(page: 0, pageSize: 50) { content { id lessons { id } assignments { id } } } }
+                """)
+                .execute()
+                .path("courses.content[*].lessons[*].id").entityList(String.class).hasSizeGreaterThan(11);
+
+        assertThat(statementsOn("lesson")).hasSize(1);
+        assertThat(statementsOn("assignment")).hasSize(1);
+        // visibility comes from the CourseGql already in hand; courses are not re-read per parent
+        assertThat(statementsOn("course")).allMatch(s -> !s.contains(".id=?"));
+    }
+
+    private static List<String> statementsOn(String table) {
+        return RecordingStatementInspector.statements().stream()
+                .filter(s -> s.contains(" from " + table + " "))
+                .toList();
+    }
+}
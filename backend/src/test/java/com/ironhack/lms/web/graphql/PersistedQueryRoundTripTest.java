@@ -0,0 +1,61 @@
+package com.ironhack.lms.web.graphql;
+
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureHttpGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.HttpGraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Apollo APQ over {@code /graphql}: hash only, then hash + text, then hash only again. A hash-only
+ * request reaches the server with Spring's placeholder document, which is what the tester sends.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureHttpGraphQlTester
+@ActiveProfiles("test")
+class PersistedQueryRoundTripTest {
+
+    static final String QUERY = "query ApqRoundTrip { courses(page: 0, pageSize: 1) { content { id title } } }";
+
+    @Autowired HttpGraphQlTester graphQl;
+
+    @Test
+    void unknown_hash_is_registered_by_the_retry_and_then_served_alone() throws Exception {
+        String hash = sha256Hex(QUERY);
+
+        hashOnly(hash).execute().errors().satisfy(errors -> {
+            assertThat(errors).hasSize(1);
+            assertThat(errors.get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+        });
+
+        graphQl.document(QUERY).extension("persistedQuery", persistedQuery(hash))
+                .execute().path("courses.content").hasValue();
+
+        hashOnly(hash).execute().path("courses.content").hasValue();
+    }
+
+    private HttpGraphQlTester.Request<?> hashOnly(String hash) {
+        return graphQl.document(PersistedQuerySupport.PERSISTED_QUERY_MARKER)
+                .extension("persistedQuery", persistedQuery(hash));
+    }
+
+    private static Map<String, Object> persistedQuery(String hash) {
+        return Map.of("version", 1, "sha256Hash", hash);
+    }
+
+    private static String sha256Hex(String text) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+}
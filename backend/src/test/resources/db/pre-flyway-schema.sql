@@ -0,0 +1,23 @@
+-- Schema Hibernate 6 generated (ddl-auto=update, MySQLDialect) from the entities before Flyway was introduced.
+-- MigrationAdoptionTest baselines a database built from it, as production databases are.
+create table app_user (created_at datetime(6) not null, id bigint not null auto_increment, dtype varchar(31) not null, student_number varchar(64), bio TEXT, email varchar(255) not null, full_name varchar(255) not null, password_hash varchar(255) not null, role enum ('ADMIN','INSTRUCTOR','STUDENT') not null, primary key (id)) engine=InnoDB;
+create table assignment (allow_late bit not null, max_points integer not null, due_at datetime(6), id bigint not null auto_increment, lesson_id bigint not null, title varchar(200) not null, instructions TEXT, primary key (id)) engine=InnoDB;
+create table course (created_at datetime(6) not null, id bigint not null auto_increment, instructor_id bigint not null, published_at datetime(6), title varchar(200) not null, description TEXT, status enum ('ARCHIVED','DRAFT','PUBLISHED') not null, primary key (id)) engine=InnoDB;
+create table enrollment (course_id bigint not null, enrolled_at datetime(6) not null, id bigint not null auto_increment, student_id bigint not null, status enum ('ACTIVE','CANCELLED','COMPLETED') not null, primary key (id)) engine=InnoDB;
+create table item_tags (item_id bigint not null, tag varchar(64) not null, primary key (item_id, tag)) engine=InnoDB;
+create table items (created_at datetime(6), id bigint not null auto_increment, lesson_id bigint not null, updated_at datetime(6), description varchar(1000), title varchar(255) not null, body_markdown MEDIUMTEXT not null, primary key (id)) engine=InnoDB;
+create table lesson (order_index integer not null, course_id bigint not null, id bigint not null auto_increment, title varchar(200) not null, content_url varchar(2048), primary key (id)) engine=InnoDB;
+create table submission (score integer, version integer not null, assignment_id bigint not null, id bigint not null auto_increment, student_id bigint not null, submitted_at datetime(6) not null, artifact_url varchar(2048) not null, feedback TEXT, status enum ('GRADED','RESUBMIT_REQUESTED','SUBMITTED') not null, primary key (id)) engine=InnoDB;
+alter table app_user add constraint UK1j9d9a06i600gd43uu3km82jw unique (email);
+alter table enrollment add constraint uq_enroll unique (student_id, course_id);
+alter table items add constraint UKt83sr76p1no9fqhlsuxq12g3i unique (lesson_id);
+alter table submission add constraint uq_submission_one_per_student unique (assignment_id, student_id);
+alter table assignment add constraint FKitkm2jqcnrvh6i8ytlem7bsck foreign key (lesson_id) references lesson (id);
+alter table course add constraint FKlavd04cpmnblm4us8fira439o foreign key (instructor_id) references app_user (id);
+alter table enrollment add constraint FKbhhcqkw1px6yljqg92m0sh2gt foreign key (course_id) references course (id);
+alter table enrollment add constraint FKf7eb3tag6v4j1d15stvpo3ei3 foreign key (student_id) references app_user (id);
+alter table item_tags add constraint FKjv1mnuei30kq5rly4y4e7wv5t foreign key (item_id) references items (id);
+alter table items add constraint FK9569qf1jypneknkrm9equovl8 foreign key (lesson_id) references lesson (id);
+alter table lesson add constraint FKjs3c7skmg8bvdddok5lc7s807 foreign key (course_id) references course (id);
+alter table submission add constraint FK3q8643roa73llngo64dvpvtxt foreign key (assignment_id) references assignment (id);
+alter table submission add constraint FKtkc78tper0xh5502v0ic1e22y foreign key (student_id) references app_user (id);
@@ -233,8 +233,8 @@ export type PageInfo = {
   hasNext: Scalars['Boolean']['output'];
   page: Scalars['Int']['output'];
   pageSize: Scalars['Int']['output'];
-  totalElements: Scalars['Long']['output'];
-  totalPages: Scalars['Int']['output'];
+  totalElements?: Maybe<Scalars['Long']['output']>;
+  totalPages?: Maybe<Scalars['Int']['output']>;
 };
 
 export type PageRequestInput = {
@@ -287,6 +287,7 @@ export type QueryItemsArgs = {
   page?: InputMaybe<Scalars['Int']['input']>;
   pageSize?: InputMaybe<Scalars['Int']['input']>;
   search?: InputMaybe<Scalars['String']['input']>;
+  withTotal?: InputMaybe<Scalars['Boolean']['input']>;
 };
 
 
@@ -300,6 +301,7 @@ export type QueryLessonArgs = {
 export type QueryMyEnrollmentsArgs = {
   page?: Scalars['Int']['input'];
   pageSize?: Scalars['Int']['input'];
+  withTotal?: Scalars['Boolean']['input'];
 };
 
 
@@ -307,6 +309,7 @@ export type QueryMyEnrollmentsArgs = {
 export type QueryMySubmissionsArgs = {
   page?: Scalars['Int']['input'];
   pageSize?: Scalars['Int']['input'];
+  withTotal?: Scalars['Boolean']['input'];
 };
 
 
@@ -315,6 +318,7 @@ export type QuerySubmissionsByCourseArgs = {
   courseId: Scalars['ID']['input'];
   page?: Scalars['Int']['input'];
   pageSize?: Scalars['Int']['input'];
+  withTotal?: Scalars['Boolean']['input'];
 };
 
 export type Submission = {
@@ -357,7 +361,7 @@ export type GetMyEnrollmentsQueryVariables = Exact<{
 }>;
 
 
-export type GetMyEnrollmentsQuery = { __typename?: 'Query', myEnrollments: { __typename?: 'EnrollmentPage', content: Array<{ __typename?: 'Enrollment', id: string, courseId: string, studentId: string, enrolledAt: any, status: string, course: { __typename?: 'Course', id: string, instructorId: string, title: string, description?: string | null, status: string, createdAt: any, publishedAt?: any | null, lessons: Array<{ __typename?: 'Lesson', id: string, title: string, orderIndex: number }>, assignments: Array<{ __typename?: 'Assignment', id: string, title: string, instructions?: string | null, dueAt?: any | null, maxPoints: number }> } }>, pageInfo: { __typename?: 'PageInfo', page: number, pageSize: number, totalElements: any, totalPages: number, hasNext: boolean } } };
+export type GetMyEnrollmentsQuery = { __typename?: 'Query', myEnrollments: { __typename?: 'EnrollmentPage', content: Array<{ __typename?: 'Enrollment', id: string, courseId: string, studentId: string, enrolledAt: any, status: string, course: { __typename?: 'Course', id: string, instructorId: string, title: string, description?: string | null, status: string, createdAt: any, publishedAt?: any | null, lessons: Array<{ __typename?: 'Lesson', id: string, title: string, orderIndex: number }>, assignments: Array<{ __typename?: 'Assignment', id: string, title: string, instructions?: string | null, dueAt?: any | null, maxPoints: number }> } }>, pageInfo: { __typename?: 'PageInfo', page: number, pageSize: number, totalElements?: any | null, totalPages?: number | null, hasNext: boolean } } };
 
 export type EnrollInCourseMutationVariables = Exact<{
   courseId: Scalars['ID']['input'];
@@ -393,7 +397,7 @@ export type GetCoursesQueryVariables = Exact<{
 }>;
 
 
-export type GetCoursesQuery = { __typename?: 'Query', courses: { __typename: 'CoursePage', content: Array<{ __typename: 'Course', id: string, instructorId: string, title: string, description?: string | null, status: string, createdAt: any, publishedAt?: any | null, lessons: Array<{ __typename: 'Lesson', id: string, title: string, orderIndex: number }>, assignments: Array<{ __typename: 'Assignment', id: string, title: string, instructions?: string | null, dueAt?: any | null, maxPoints: number }> }>, pageInfo: { __typename: 'PageInfo', page: number, pageSize: number, totalElements: any, totalPages: number, hasNext: boolean } } };
+export type GetCoursesQuery = { __typename?: 'Query', courses: { __typename: 'CoursePage', content: Array<{ __typename: 'Course', id: string, instructorId: string, title: string, description?: string | null, status: string, createdAt: any, publishedAt?: any | null, lessons: Array<{ __typename: 'Lesson', id: string, title: string, orderIndex: number }>, assignments: Array<{ __typename: 'Assignment', id: string, title: string, instructions?: string | null, dueAt?: any | null, maxPoints: number }> }>, pageInfo: { __typename: 'PageInfo', page: number, pageSize: number, totalElements?: any | null, totalPages?: number | null, hasNext: boolean } } };
 
 export type GetItemQueryVariables = Exact<{
   id: Scalars['ID']['input'];
@@ -409,7 +413,7 @@ export type GetItemsQueryVariables = Exact<{
 }>;
 
 
-export type GetItemsQuery = { __typename?: 'Query', items: { __typename: 'ItemPage', content: Array<{ __typename: 'Item', id: string, lessonId: string, title: string, description?: string | null, tags: Array<string>, bodyMarkdown: string, createdAt: any, updatedAt: any }>, pageInfo: { __typename: 'PageInfo', page: number, pageSize: number, totalElements: any, totalPages: number, hasNext: boolean } } };
+export type GetItemsQuery = { __typename?: 'Query', items: { __typename: 'ItemPage', content: Array<{ __typename: 'Item', id: string, lessonId: string, title: string, description?: string | null, tags: Array<string>, bodyMarkdown: string, createdAt: any, updatedAt: any }>, pageInfo: { __typename: 'PageInfo', page: number, pageSize: number, totalElements?: any | null, totalPages?: number | null, hasNext: boolean } } };
 
 export type GetLessonQueryVariables = Exact<{
   id: Scalars['ID']['input'];
@@ -432,7 +436,7 @@ export type MySubmissionsQueryVariables = Exact<{
 }>;
 
 
-export type MySubmissionsQuery = { __typename?: 'Query', mySubmissions: { __typename: 'SubmissionPage', content: Array<{ __typename: 'Submission', id: string, assignmentId: string, courseId: string, studentId: string, submittedAt: any, artifactUrl: string, status: string, score?: number | null, feedback?: string | null, version: number }>, pageInfo: { __typename?: 'PageInfo', page: number, pageSize: number, totalElements: any, totalPages: number, hasNext: boolean } } };
+export type MySubmissionsQuery = { __typename?: 'Query', mySubmissions: { __typename: 'SubmissionPage', content: Array<{ __typename: 'Submission', id: string, assignmentId: string, courseId: string, studentId: string, submittedAt: any, artifactUrl: string, status: string, score?: number | null, feedback?: string | null, version: number }>, pageInfo: { __typename?: 'PageInfo', page: number, pageSize: number, totalElements?: any | null, totalPages?: number | null, hasNext: boolean } } };
 
 export type SubmissionsByCourseQueryVariables = Exact<{
   courseId: Scalars['ID']['input'];
@@ -441,7 +445,7 @@ export type SubmissionsByCourseQueryVariables = Exact<{
 }>;
 
 
-export type SubmissionsByCourseQuery = { __typename?: 'Query', submissionsByCourse: { __typename: 'SubmissionPage', content: Array<{ __typename: 'Submission', id: string, assignmentId: string, courseId: string, studentId: string, submittedAt: any, artifactUrl: string, status: string, score?: number | null, feedback?: string | null, version: number }>, pageInfo: { __typename?: 'PageInfo', page: number, pageSize: number, totalElements: any, totalPages: number, hasNext: boolean } } };
+export type SubmissionsByCourseQuery = { __typename?: 'Query', submissionsByCourse: { __typename: 'SubmissionPage', content: Array<{ __typename: 'Submission', id: string, assignmentId: string, courseId: string, studentId: string, submittedAt: any, artifactUrl: string, status: string, score?: number | null, feedback?: string | null, version: number }>, pageInfo: { __typename?: 'PageInfo', page: number, pageSize: number, totalElements?: any | null, totalPages?: number | null, hasNext: boolean } } };
 
 export type UpdateItemMutationVariables = Exact<{
   id: Scalars['ID']['input'];
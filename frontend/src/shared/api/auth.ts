@@ -20,6 +20,7 @@ export interface RegisterRequest {
 
 export interface AuthResponse {
   token: string
+  refreshToken: string
   user: User
 }
 
@@ -32,6 +33,11 @@ class AuthAPI {
     return httpClient.post<AuthResponse>('/auth/register', userData)
   }
 
+  async logout(): Promise<void> {
+    const refreshToken = localStorage.getItem('refreshToken')
+    if (refreshToken) await httpClient.post<void>('/auth/logout', { refreshToken })
+  }
+
   async validateToken(): Promise<User> {
     return httpClient.get<User>('/auth/me')
   }
@@ -6,9 +6,35 @@ export interface ApiError {
 }
 
 class HttpClient {
+  private refreshing: Promise<boolean> | null = null
+
+  // Access tokens are short-lived; swap the single-use refresh token for a new pair.
+  // Also used by the Apollo link, so REST and GraphQL share one in-flight refresh.
+  refreshTokens(): Promise<boolean> {
+    if (!this.refreshing) {
+      const refreshToken = localStorage.getItem('refreshToken')
+      this.refreshing = (refreshToken
+        ? fetch(`${API_BASE_URL}/auth/refresh`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ refreshToken }),
+          }).then(async (res) => {
+            if (!res.ok) return false
+            const data = await res.json()
+            localStorage.setItem('token', data.token)
+            localStorage.setItem('refreshToken', data.refreshToken)
+            return true
+          }).catch(() => false)
+        : Promise.resolve(false)
+      ).finally(() => { this.refreshing = null })
+    }
+    return this.refreshing
+  }
+
   private async request<T>(
     endpoint: string,
-    options: RequestInit = {}
+    options: RequestInit = {},
+    retried = false
   ): Promise<T> {
     const url = `${API_BASE_URL}${endpoint}`
     
@@ -31,6 +57,10 @@ class HttpClient {
 
     try {
       const response = await fetch(url, config)
+
+      if (response.status === 401 && !retried && !endpoint.startsWith('/auth/') && await this.refreshTokens()) {
+        return this.request<T>(endpoint, options, true)
+      }
       
       if (!response.ok) {
         const errorData: ApiError = await response.json().catch(() => ({
@@ -39,6 +69,7 @@ class HttpClient {
         throw new Error(errorData.error || errorData.message || 'Request failed')
       }
 
+      if (response.status === 204) return undefined as T
       return await response.json()
     } catch (error) {
       if (error instanceof Error) {
@@ -50,6 +50,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
 
       // Store token and user data
       localStorage.setItem('token', data.token)
+      localStorage.setItem('refreshToken', data.refreshToken)
       setUser(data.user)
 
       toast.success('Welcome back! 🎉')
@@ -70,6 +71,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
 
       // Store token and user data
       localStorage.setItem('token', data.token)
+      localStorage.setItem('refreshToken', data.refreshToken)
       setUser(data.user)
 
       toast.success('Account created successfully! 🚀')
@@ -83,7 +85,9 @@ export function AuthProvider({ children }: { children: ReactNode }) {
   }
 
   const logout = () => {
+    authAPI.logout().catch(() => {})
     localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
     setUser(null)
     toast.success('Logged out successfully! 👋')
   }
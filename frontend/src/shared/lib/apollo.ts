@@ -1,12 +1,28 @@
-import { ApolloClient, InMemoryCache, createHttpLink, from } from '@apollo/client'
+import { ApolloClient, ApolloLink, InMemoryCache, createHttpLink, from } from '@apollo/client'
 import { setContext } from '@apollo/client/link/context'
 import { onError } from '@apollo/client/link/error'
+import { createPersistedQueryLink } from '@apollo/client/link/persisted-queries'
+import type { GraphQLFormattedError } from 'graphql'
 import toast from 'react-hot-toast'
+import { defer, mergeMap, of } from 'rxjs'
+import { httpClient } from '../api/http'
 
 const httpLink = createHttpLink({
   uri: `${import.meta.env.VITE_API_URL || 'http://localhost:8080'}/graphql`,
 })
 
+// Automatic persisted queries: send only the sha256 of the query; the server asks
+// for the full text (PersistedQueryNotFound) the first time it sees a hash.
+async function sha256(query: string): Promise<string> {
+  const digest = await crypto.subtle.digest('SHA-256', new TextEncoder().encode(query))
+  return Array.from(new Uint8Array(digest), (b) => b.toString(16).padStart(2, '0')).join('')
+}
+
+// crypto.subtle only exists in secure contexts (https or localhost)
+const links = globalThis.crypto?.subtle
+  ? [createPersistedQueryLink({ sha256 }), httpLink]
+  : [httpLink]
+
 const authLink = setContext((_, { headers }) => {
   const token = localStorage.getItem('token')
   return {
@@ -17,6 +33,25 @@ const authLink = setContext((_, { headers }) => {
   }
 })
 
+// Access tokens are short-lived. An expired one makes the request anonymous, so resolvers answer
+// UNAUTHORIZED; refresh through the REST client (concurrent refreshes share one call) and replay once.
+// authLink sits below this link, so the replay picks up the new token.
+const isUnauthorized = (result: { errors?: ReadonlyArray<GraphQLFormattedError> }) =>
+  result.errors?.some((error) => error.extensions?.classification === 'UNAUTHORIZED') ?? false
+
+const refreshLink = new ApolloLink((operation, forward) => {
+  if (!localStorage.getItem('token')) return forward(operation)
+  return forward(operation).pipe(
+    mergeMap((result) =>
+      isUnauthorized(result)
+        ? defer(() => httpClient.refreshTokens()).pipe(
+            mergeMap((refreshed) => (refreshed ? forward(operation) : of(result)))
+          )
+        : of(result)
+    )
+  )
+})
+
 const errorLink = onError(({ graphQLErrors, networkError }: any) => {
   if (graphQLErrors) {
     graphQLErrors.forEach((error: any) => {
@@ -55,7 +90,7 @@ const errorLink = onError(({ graphQLErrors, networkError }: any) => {
 })
 
 export const apolloClient = new ApolloClient({
-  link: from([errorLink, authLink, httpLink]),
+  link: from([errorLink, refreshLink, authLink, ...links]),
   cache: new InMemoryCache({
     typePolicies: {
       Query: {